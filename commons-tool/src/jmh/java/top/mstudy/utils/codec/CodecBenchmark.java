@@ -0,0 +1,101 @@
+package top.mstudy.utils.codec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 十六进制和Base64编解码的耗时，对比调整前DescUtils逐字节拼接的写法、JDK Base64与查表实现
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecBenchmark {
+
+    @Param({ "16", "1024" })
+    private int length;
+
+    private byte[] data;
+
+    private String hex;
+
+    private String base64;
+
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        data = new byte[length];
+        new Random(length).nextBytes(data);
+        hex = Hex.encode(data);
+        base64 = Base64.getEncoder().encodeToString(data);
+        chars = new char[length * 2];
+    }
+
+    @Benchmark
+    public String hexEncodeStringBuffer() {
+        StringBuffer hexString = new StringBuffer();
+        for (byte b : data) {
+            String plainText = Integer.toHexString(0xff & b);
+            if (plainText.length() < 2) {
+                plainText = "0" + plainText;
+            }
+            hexString.append(plainText);
+        }
+        return hexString.toString();
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return Hex.encode(data);
+    }
+
+    @Benchmark
+    public int hexEncodeToChars() {
+        return Hex.encode(data, 0, data.length, chars, 0, false);
+    }
+
+    @Benchmark
+    public byte[] hexDecodeParseInt() {
+        byte[] digest = new byte[hex.length() / 2];
+        for (int i = 0; i < digest.length; i++) {
+            digest[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return digest;
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return Hex.decode(hex);
+    }
+
+    @Benchmark
+    public String base64EncodeJdk() {
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return Base64Codec.encode(data);
+    }
+
+    @Benchmark
+    public byte[] base64DecodeJdk() {
+        return Base64.getDecoder().decode(base64);
+    }
+
+    @Benchmark
+    public byte[] base64Decode() {
+        return Base64Codec.decode(base64);
+    }
+}
@@ -0,0 +1,90 @@
+package top.mstudy.utils.digest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 批量摘要随线程数的扩展情况，threads为1时即单线程基线，每次调用处理全部输入
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchDigestsBenchmark {
+
+    private static final int STRING_COUNT = 100_000;
+
+    private static final int FILE_COUNT = 64;
+
+    private static final int FILE_SIZE = 1 << 20;
+
+    @Param({ "1", "2", "4", "8" })
+    private int threads;
+
+    private ExecutorService executor;
+
+    private BatchDigests strings;
+
+    private BatchDigests files;
+
+    private List<String> sources;
+
+    private List<Path> paths;
+
+    private Path dir;
+
+    @Setup
+    public void setUp() throws IOException {
+        executor = BatchDigests.newExecutor(threads);
+        strings = new BatchDigests(executor, threads);
+        files = new BatchDigests(executor, 1, threads * 2);
+        Random random = new Random(threads);
+        sources = new ArrayList<>(STRING_COUNT);
+        for (int i = 0; i < STRING_COUNT; i++) {
+            sources.add("batch-" + random.nextLong() + "-" + i);
+        }
+        dir = Files.createTempDirectory("batch-digests");
+        paths = new ArrayList<>(FILE_COUNT);
+        byte[] data = new byte[FILE_SIZE];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            random.nextBytes(data);
+            paths.add(Files.write(dir.resolve("f" + i), data));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public List<DigestResult<String>> hashStrings() {
+        return strings.hashStrings(sources, DigestAlgorithm.MD5, StandardCharsets.UTF_8, false);
+    }
+
+    @Benchmark
+    public List<DigestResult<Path>> hashFiles() {
+        return files.hashFiles(paths, DigestAlgorithm.SHA256);
+    }
+}
@@ -0,0 +1,84 @@
+package top.mstudy.utils.digest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 多线程下MD5字符串摘要的吞吐，对比原先共享一个MessageDigest并加锁的写法与每个线程各自的实例；
+ * 嵌套类分别以1、2、4、8个线程运行，对比加锁写法随线程数的退化
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class DigestBenchmark {
+
+    @Param({ "32", "1024" })
+    private int length;
+
+    private String src;
+
+    private MessageDigest shared;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        src = sb.toString();
+        shared = MessageDigest.getInstance("MD5");
+    }
+
+    @Benchmark
+    public byte[] sharedSynchronized() {
+        byte[] data = src.getBytes(StandardCharsets.UTF_8);
+        synchronized (shared) {
+            shared.update(data);
+            return shared.digest();
+        }
+    }
+
+    @Benchmark
+    public byte[] perCallInstance() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("MD5").digest(src.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public byte[] threadLocalDigests() {
+        return Digests.digest(DigestAlgorithm.MD5, src, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String md5Hex() {
+        return Digests.md5Hex(src);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends DigestBenchmark {
+    }
+
+    @Threads(2)
+    public static class Threads2 extends DigestBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends DigestBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends DigestBenchmark {
+    }
+}
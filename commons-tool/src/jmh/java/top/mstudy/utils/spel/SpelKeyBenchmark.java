@@ -0,0 +1,74 @@
+package top.mstudy.utils.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 分布式锁key求值的耗时，对比调整前每个片段新建解析器、重新解析的写法与缓存的SpelKeyTemplate
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpelKeyBenchmark {
+
+    private static final String KEY = "lock_order_#id_#user.name";
+
+    private final String[] names = { "id", "user" };
+
+    private final Object[] values = { 12345L, new User("tom") };
+
+    private final SpelKeyTemplate template = SpelKeyTemplate.of(KEY);
+
+    @Benchmark
+    public String parseEveryCall() {
+        StringBuilder sb = new StringBuilder();
+        for (String part : KEY.split("_")) {
+            if (!part.startsWith("#")) {
+                sb.append(part);
+                continue;
+            }
+            EvaluationContext context = new StandardEvaluationContext();
+            for (int j = 0; j < names.length; j++) {
+                context.setVariable(names[j], values[j]);
+            }
+            Object value = new SpelExpressionParser().parseExpression(part).getValue(context);
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String cachedTemplate() {
+        return SpelKeyTemplate.of(KEY).render(names, values);
+    }
+
+    @Benchmark
+    public String heldTemplate() {
+        return template.render(names, values);
+    }
+
+    public static class User {
+
+        private final String name;
+
+        User(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
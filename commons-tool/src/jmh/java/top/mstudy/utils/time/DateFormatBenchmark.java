@@ -0,0 +1,56 @@
+package top.mstudy.utils.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 日期格式化和解析的耗时，对比每次new SimpleDateFormat与DateFormatRegistry
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateFormatBenchmark {
+
+    @Param({ "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd E" })
+    private String pattern;
+
+    private final long millis = 1710054000123L;
+
+    private final String text = "2024-03-10 15:00:00";
+
+    @Benchmark
+    public String formatSimpleDateFormat() {
+        return new SimpleDateFormat(pattern).format(new Date(millis));
+    }
+
+    @Benchmark
+    public String formatRegistry() {
+        return DateFormatRegistry.format(millis, pattern);
+    }
+
+    @Benchmark
+    public String formatCachedRegistry() {
+        return DateFormatRegistry.formatCached(millis, pattern);
+    }
+
+    @Benchmark
+    public long parseSimpleDateFormat() throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(text).getTime();
+    }
+
+    @Benchmark
+    public long parseRegistry() throws ParseException {
+        return DateFormatRegistry.parseMillis(text, "yyyy-MM-dd HH:mm:ss");
+    }
+}
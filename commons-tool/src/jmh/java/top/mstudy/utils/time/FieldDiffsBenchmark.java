@@ -0,0 +1,61 @@
+package top.mstudy.utils.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import top.mstudy.utils.TimeUtils;
+
+import java.util.Calendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 按天比较两个日历的耗时，对比调整前基于Calendar字段的计算与FieldDiffs，customZone为不走缓存的自定义时区
+ * 运行：gradlew jmh，或加-prof gc查看每次调用的分配字节数
+ * @date 2026-10-18
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FieldDiffsBenchmark {
+
+    @Param({ "America/New_York", "customZone" })
+    private String zoneId;
+
+    private Calendar c1;
+
+    private Calendar c2;
+
+    @Setup
+    public void setUp() {
+        TimeZone zone = "customZone".equals(zoneId) ? new SimpleTimeZone(3600000, zoneId)
+                : TimeZone.getTimeZone(zoneId);
+        c1 = Calendar.getInstance(zone);
+        c1.setTimeInMillis(1730613600000L);
+        c2 = Calendar.getInstance(zone);
+        c2.setTimeInMillis(1710054000000L);
+    }
+
+    @Benchmark
+    public long daysByCalendarFields() {
+        Calendar d1 = (Calendar) c1.clone();
+        Calendar d2 = (Calendar) c2.clone();
+        return d1.get(Calendar.YEAR) * 366L + d1.get(Calendar.DAY_OF_YEAR) - d2.get(Calendar.YEAR) * 366L
+                - d2.get(Calendar.DAY_OF_YEAR);
+    }
+
+    @Benchmark
+    public long daysByFieldDiffs() throws Exception {
+        return TimeUtils.compareCalendar(c1, c2, Calendar.DATE);
+    }
+
+    @Benchmark
+    public long monthsByFieldDiffs() throws Exception {
+        return TimeUtils.compareCalendar(c1, c2, Calendar.MONTH);
+    }
+}
@@ -1,11 +1,10 @@
 package top.mstudy.utils;
 
-import org.apache.commons.lang3.time.DateFormatUtils;
+import top.mstudy.utils.time.DateFormatRegistry;
+import top.mstudy.utils.time.MultiDateParser;
 
 import java.lang.management.ManagementFactory;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
 
 /**
@@ -28,6 +27,8 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
             "yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd HH:mm", "yyyy/MM", "yyyy.MM.dd", "yyyy.MM.dd HH:mm:ss",
             "yyyy.MM.dd HH:mm", "yyyy.MM" };
 
+    private static final MultiDateParser DATE_PARSER = new MultiDateParser(parsePatterns);
+
     /**
      * 获取当前Date型日期
      *
@@ -55,7 +56,7 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
     }
 
     public static final String dateTimeNow(final String format) {
-        return parseDateToStr(format, new Date());
+        return DateFormatRegistry.formatCached(System.currentTimeMillis(), format);
     }
 
     public static final String dateTime(final Date date) {
@@ -63,12 +64,12 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
     }
 
     public static final String parseDateToStr(final String format, final Date date) {
-        return new SimpleDateFormat(format).format(date);
+        return DateFormatRegistry.format(date, format);
     }
 
     public static final Date dateTime(final String format, final String ts) {
         try {
-            return new SimpleDateFormat(format).parse(ts);
+            return DateFormatRegistry.parse(ts, format);
         }
         catch (ParseException e) {
             throw new RuntimeException(e);
@@ -79,16 +80,14 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
      * 日期路径 即年/月/日 如2018/08/08
      */
     public static final String datePath() {
-        Date now = new Date();
-        return DateFormatUtils.format(now, "yyyy/MM/dd");
+        return DateFormatRegistry.formatCached(System.currentTimeMillis(), "yyyy/MM/dd");
     }
 
     /**
      * 日期路径 即年/月/日 如20180808
      */
     public static final String dateTime() {
-        Date now = new Date();
-        return DateFormatUtils.format(now, "yyyyMMdd");
+        return DateFormatRegistry.formatCached(System.currentTimeMillis(), "yyyyMMdd");
     }
 
     /**
@@ -98,12 +97,14 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
         if (str == null) {
             return null;
         }
-        try {
-            return parseDate(str.toString(), parsePatterns);
-        }
-        catch (ParseException e) {
-            return null;
-        }
+        return DATE_PARSER.parse(str.toString());
+    }
+
+    /**
+     * 为parseDate(Object)注册新的日期格式
+     */
+    public static void registerParsePattern(String pattern) {
+        DATE_PARSER.register(pattern);
     }
 
     /**
@@ -142,12 +143,7 @@ public class DateUtils extends org.apache.commons.lang3.time.DateUtils {
      * @return
      */
     public static String secondToDate(long second) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(second * 1000);//转换为毫秒
-        Date date = calendar.getTime();
-        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
-        String dateString = format.format(date);
-        return dateString;
+        return DateFormatRegistry.format(second * 1000, "yyyy-MM-dd hh:mm:ss");//转换为毫秒
     }
 }
 
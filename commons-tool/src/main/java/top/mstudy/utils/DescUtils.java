@@ -1,10 +1,13 @@
 package top.mstudy.utils;
 
-import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.DESKeySpec;
-import javax.crypto.spec.IvParameterSpec;
+import top.mstudy.utils.codec.Hex;
+import top.mstudy.utils.codec.HexInputStream;
+import top.mstudy.utils.codec.HexOutputStream;
+import top.mstudy.utils.crypto.CryptoEngine;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
 
 /**
  * @author machao
@@ -17,6 +20,8 @@ public class DescUtils {
     // 用于加密的key值，设置为一个常量
     private static final String KEY = "DESCPWDS";
 
+    private static volatile CryptoEngine engine;
+
     /**
      * 解密方法
      *
@@ -26,13 +31,7 @@ public class DescUtils {
      */
     public static String descToStr(String descStr) throws Exception {
         byte[] bytesrc = convertHexString(descStr);
-        Cipher cipher = Cipher.getInstance("DES/CBC/PKCS5Padding");
-        DESKeySpec desKeySpec = new DESKeySpec(KEY.getBytes("UTF-8"));
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("DES");
-        SecretKey secretKey = keyFactory.generateSecret(desKeySpec);
-        IvParameterSpec iv = new IvParameterSpec(KEY.getBytes("UTF-8"));
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, iv);
-        byte[] retByte = cipher.doFinal(bytesrc);
+        byte[] retByte = engine().decrypt(bytesrc);
         return new String(retByte);
     }
 
@@ -44,35 +43,85 @@ public class DescUtils {
      * @throws Exception
      */
     public static String strToDesc(String inStr) throws Exception {
-        Cipher cipher = Cipher.getInstance("DES/CBC/PKCS5Padding");
-        DESKeySpec desKeySpec = new DESKeySpec(KEY.getBytes("UTF-8"));
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("DES");
-        SecretKey secretKey = keyFactory.generateSecret(desKeySpec);
-        IvParameterSpec iv = new IvParameterSpec(KEY.getBytes("UTF-8"));
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, iv);
-        return toHexString(cipher.doFinal(inStr.getBytes("UTF-8")));
+        return toHexString(engine().encrypt(inStr.getBytes("UTF-8")));
     }
 
-    private static byte[] convertHexString(String ss) {
-        byte digest[] = new byte[ss.length() / 2];
-        for (int i = 0; i < digest.length; i++) {
-            String byteString = ss.substring(2 * i, 2 * i + 2);
-            int byteValue = Integer.parseInt(byteString, 16);
-            digest[i] = (byte) byteValue;
+    /**
+     * 加密为原始字节，不转十六进制
+     *
+     * @param plain 明文
+     * @return
+     * @throws Exception
+     */
+    public static byte[] encryptBytes(byte[] plain) throws Exception {
+        return engine().encrypt(plain);
+    }
+
+    /**
+     * 解密原始字节密文
+     *
+     * @param data 密文
+     * @return
+     * @throws Exception
+     */
+    public static byte[] decryptBytes(byte[] data) throws Exception {
+        return engine().decrypt(data);
+    }
+
+    /**
+     * 流式加密，适合大文件，两个流都不关闭
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @param hex 为true时输出与strToDesc相同的十六进制密文，否则输出原始字节
+     * @return 读取的明文字节数
+     * @throws Exception
+     */
+    public static long encrypt(InputStream in, OutputStream out, boolean hex) throws Exception {
+        if (!hex) {
+            return engine().encrypt(in, out);
         }
-        return digest;
+        HexOutputStream hexOut = new HexOutputStream(out);
+        long total = engine().encrypt(in, hexOut);
+        hexOut.flush();
+        return total;
     }
 
-    private static String toHexString(byte b[]) {
-        StringBuffer hexString = new StringBuffer();
-        for (int i = 0; i < b.length; i++) {
-            String plainText = Integer.toHexString(0xff & b[i]);
-            if (plainText.length() < 2) {
-                plainText = "0" + plainText;
+    /**
+     * 流式解密，适合大文件，两个流都不关闭
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @param hex 密文是否为十六进制
+     * @return 读取的密文字节数
+     * @throws Exception
+     */
+    public static long decrypt(InputStream in, OutputStream out, boolean hex) throws Exception {
+        return engine().decrypt(hex ? new HexInputStream(in) : in, out);
+    }
+
+    /**
+     * 默认key对应的加解密引擎，首次使用时创建
+     */
+    private static CryptoEngine engine() throws GeneralSecurityException {
+        CryptoEngine current = engine;
+        if (current == null) {
+            synchronized (DescUtils.class) {
+                current = engine;
+                if (current == null) {
+                    engine = current = CryptoEngine.des(KEY);
+                }
             }
-            hexString.append(plainText);
         }
-        return hexString.toString();
+        return current;
+    }
+
+    private static byte[] convertHexString(String ss) {
+        return Hex.decode(ss);
+    }
+
+    private static String toHexString(byte b[]) {
+        return Hex.encode(b);
     }
 
 }
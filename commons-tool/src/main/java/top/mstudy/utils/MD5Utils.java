@@ -1,11 +1,18 @@
 package top.mstudy.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import top.mstudy.utils.codec.Hex;
+import top.mstudy.utils.digest.BatchDigests;
+import top.mstudy.utils.digest.DigestAlgorithm;
+import top.mstudy.utils.digest.DigestResult;
+import top.mstudy.utils.digest.Digests;
+import top.mstudy.utils.digest.FileDigests;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author machao
@@ -14,20 +21,6 @@ import java.security.NoSuchAlgorithmException;
  */
 @Slf4j public class MD5Utils {
 
-    private static MessageDigest md5 = null;
-
-    private static MessageDigest getMD5() {
-        if (md5 == null) {
-            try {
-                md5 = MessageDigest.getInstance("MD5");
-            }
-            catch (NoSuchAlgorithmException e) {
-                log.error("in Md5Util:", e);
-            }
-        }
-        return md5;
-    }
-
     /**
      * MD5加密小写32位
      *
@@ -37,24 +30,8 @@ import java.security.NoSuchAlgorithmException;
      */
     public static final String md5LowerCase(String src, String encoding) {
         try {
-            MessageDigest md = getMD5();
-            md.update(src.getBytes(encoding));
-            byte b[] = md.digest();
-            int i;
-            StringBuffer buf = new StringBuffer("");
-            for (int offset = 0; offset < b.length; offset++) {
-                i = b[offset];
-                if (i < 0) {
-                    i += 256;
-                }
-
-                if (i < 16) {
-                    buf.append("0");
-                }
-
-                buf.append(Integer.toHexString(i));
-            }
-            return buf.toString();// 32位的加密
+            byte[] md = Digests.digest(DigestAlgorithm.MD5, src.getBytes(encoding));
+            return Hex.encode(md);// 32位的加密
         }
         catch (Exception e) {
             log.error(e.getMessage());
@@ -70,27 +47,10 @@ import java.security.NoSuchAlgorithmException;
      * @return
      */
     public static final String md5UpperCase(String src, String encoding) {
-        char hexDigits[] = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
         try {
-            byte[] btInput = src.getBytes(encoding);
-            // 获得MD5摘要算法的 MessageDigest 对象
-            MessageDigest mdInst = getMD5();
-            // 使用指定的字节更新摘要
-            mdInst.update(btInput);
-            // 获得密文
-            byte[] md = mdInst.digest();
-            // 把密文转换成十六进制的字符串形式
-            // byte[] data = { (byte) 0xfe, (byte) 0xff, 0x00, 0x61 };
-            int j = md.length;
-            char str[] = new char[j * 2];
-            int k = 0;
-
-            for (int i = 0; i < j; i++) {
-                byte byte0 = md[i];
-                str[k++] = hexDigits[byte0 >>> 4 & 0xf];
-                str[k++] = hexDigits[byte0 & 0xf];
-            }
-            return new String(str).substring(8, 24);
+            byte[] md = Digests.digest(DigestAlgorithm.MD5, src.getBytes(encoding));
+            // 取32位结果的第9到24位，即第5到12个字节
+            return new String(Hex.encodeToChars(md, 4, 8, true));
         }
         catch (Exception e) {
             log.error(e.getMessage());
@@ -106,27 +66,9 @@ import java.security.NoSuchAlgorithmException;
      * @return
      */
     public static final String md5UpperCase32(String src, String encoding) {
-        char hexDigits[] = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
         try {
-            byte[] btInput = src.getBytes(encoding);
-            // 获得MD5摘要算法的 MessageDigest 对象
-            MessageDigest mdInst = getMD5();
-            // 使用指定的字节更新摘要
-            mdInst.update(btInput);
-            // 获得密文
-            byte[] md = mdInst.digest();
-            // 把密文转换成十六进制的字符串形式
-            // byte[] data = { (byte) 0xfe, (byte) 0xff, 0x00, 0x61 };
-            int j = md.length;
-            char str[] = new char[j * 2];
-            int k = 0;
-
-            for (int i = 0; i < j; i++) {
-                byte byte0 = md[i];
-                str[k++] = hexDigits[byte0 >>> 4 & 0xf];
-                str[k++] = hexDigits[byte0 & 0xf];
-            }
-            return new String(str);
+            byte[] md = Digests.digest(DigestAlgorithm.MD5, src.getBytes(encoding));
+            return Hex.encode(md, true);
         }
         catch (Exception e) {
             log.error(e.getMessage());
@@ -141,15 +83,7 @@ import java.security.NoSuchAlgorithmException;
      */
     public static String getMd5File(File file) {
         try {
-            // 获得MD5摘要算法的 MessageDigest 对象
-            md5 = getMD5();
-            FileInputStream fileInputStream = new FileInputStream(file);
-            byte[] buffer = new byte[8192];
-            int length;
-            while ((length = fileInputStream.read(buffer)) != -1) {
-                md5.update(buffer, 0, length);
-            }
-            return new String(encodeHex(md5.digest()));
+            return Hex.encode(FileDigests.digest(file, DigestAlgorithm.MD5));
         }
         catch (Exception e) {
             log.error("in Md5Util:", e);
@@ -163,38 +97,35 @@ import java.security.NoSuchAlgorithmException;
      * @return md5串
      */
     public static String getMd5File(String filePath) {
-        try {
-            // 获得MD5摘要算法的 MessageDigest 对象
-            md5 = getMD5();
-            File file = new File(filePath);
-            FileInputStream fileInputStream = new FileInputStream(file);
-            byte[] buffer = new byte[8192];
-            int length;
-            while ((length = fileInputStream.read(buffer)) != -1) {
-                md5.update(buffer, 0, length);
-            }
-            return new String(encodeHex(md5.digest()));
-        }
-        catch (Exception e) {
-            log.error("in Md5Util:", e);
-            return null;
-        }
+        return getMd5File(new File(filePath));
     }
 
-    private static final char[] DIGITS = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c',
-            'd', 'e', 'f' };
-
-    public static char[] encodeHex(byte[] data) {
-        int l = data.length;
-        char[] out = new char[l << 1];
-        int i = 0;
+    /**
+     * 批量MD5加密 大写,32位
+     *
+     * @param srcs     字符串集合
+     * @param encoding 字符集
+     * @param batch    批量计算器
+     * @return 与输入顺序一致的结果
+     */
+    public static List<DigestResult<String>> md5UpperCase32(Collection<String> srcs, String encoding,
+            BatchDigests batch) {
+        return batch.hashStrings(srcs, DigestAlgorithm.MD5, Charset.forName(encoding), true);
+    }
 
-        for (int var4 = 0; i < l; ++i) {
-            out[var4++] = DIGITS[(240 & data[i]) >>> 4];
-            out[var4++] = DIGITS[15 & data[i]];
-        }
+    /**
+     * 批量获取文件的md5值
+     *
+     * @param paths 文件路径集合
+     * @param batch 批量计算器
+     * @return 与输入顺序一致的结果
+     */
+    public static List<DigestResult<Path>> getMd5Files(Collection<Path> paths, BatchDigests batch) {
+        return batch.hashFiles(paths, DigestAlgorithm.MD5);
+    }
 
-        return out;
+    public static char[] encodeHex(byte[] data) {
+        return Hex.encodeToChars(data, 0, data.length, false);
     }
 
     /**
@@ -7,12 +7,22 @@ import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import top.mstudy.utils.qrcode.QrCodeCache;
+import top.mstudy.utils.qrcode.QrCodeKey;
+import top.mstudy.utils.qrcode.QrCodeWriter;
+import top.mstudy.utils.qrcode.QrFormat;
+import top.mstudy.utils.qrcode.QrImages;
+import top.mstudy.utils.qrcode.QrRasterizer;
+import top.mstudy.utils.qrcode.QrWriteResult;
 
-import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletResponse;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.Hashtable;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * @author machao
@@ -21,51 +31,96 @@ import java.util.Hashtable;
  */
 @Slf4j public class RecodeUtils {
 
+    private static final QrCodeCache CACHE = new QrCodeCache();
+
     public static void creatRrCode(String contents, int width, int height, HttpServletResponse response) {
-        Hashtable hints = new Hashtable();
+        writeRrCode(contents, width, height, QrFormat.PNG, response);
+    }
 
-        // 容错级别最高
-        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H);
-        // 设置字符编码
-        hints.put(EncodeHintType.CHARACTER_SET, "utf-8");
-        // 二维码空白区域,最小为0也有白边,只是很小,最小是6像素左右
-        hints.put(EncodeHintType.MARGIN, 1);
+    /**
+     * 按指定格式输出二维码，失败时只记录日志
+     */
+    public static void creatRrCode(String contents, int width, int height, QrFormat format,
+            HttpServletResponse response) {
+        writeRrCode(contents, width, height, format, response);
+    }
+
+    /**
+     * 按指定格式输出二维码，PNG经过渲染缓存并支持If-None-Match，SVG直接流式写出；
+     * 失败时记录日志并在返回结果中携带失败原因
+     */
+    public static QrWriteResult writeRrCode(String contents, int width, int height, QrFormat format,
+            HttpServletResponse response) {
+        // 容错级别最高，二维码空白区域,最小为0也有白边,只是很小,最小是6像素左右
+        QrCodeKey key = new QrCodeKey(contents, width, height, ErrorCorrectionLevel.H, 1);
+        QrWriteResult result;
         try {
-            // 1、读取文件转换为字节数组
-            BitMatrix bitMatrix = new MultiFormatWriter().encode(contents, BarcodeFormat.QR_CODE, width, height, hints);
-            // ByteArrayOutputStream out = new ByteArrayOutputStream();
-            BufferedImage image = toBufferedImage(bitMatrix);
-            // 转换成png格式的IO流
-            ImageIO.write(image, "png", response.getOutputStream());
-            // byte[] bytes = out.toByteArray();
-            // 2、将字节数组转为二进制
-            // BASE64Encoder encoder = new BASE64Encoder();
-            // binary = encoder.encodeBuffer(bytes).trim();
+            if (format == QrFormat.SVG) {
+                response.setContentType(format.getContentType() + ";charset=UTF-8");
+                result = QrCodeWriter.write(encode(key), format, response.getOutputStream());
+            } else {
+                QrCodeCache.Entry entry = CACHE.get(key, RecodeUtils::toPng);
+                response.setHeader("ETag", entry.getEtag());
+                if (entry.matches(ifNoneMatch())) {
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return QrWriteResult.success(format, 0);
+                }
+                response.setContentType(format.getContentType());
+                response.setContentLength(entry.getBytes().length);
+                result = QrCodeWriter.write(entry.getBytes(), format, response.getOutputStream());
+            }
         }
-        catch (WriterException e) {
-            // TODO Auto-generated catch block
-            log.error(e.getMessage());
+        catch (Exception e) {
+            result = QrWriteResult.failure(format, 0, e);
         }
-        catch (IOException e) {
-            // TODO Auto-generated catch block
-            log.error(e.getMessage());
+        if (!result.isSuccess()) {
+            log.error("二维码输出失败: {}", key, result.getError());
         }
+        return result;
+    }
+
+    /**
+     * 二维码渲染缓存，可用于查看命中率等指标
+     */
+    public static QrCodeCache getCache() {
+        return CACHE;
     }
 
     /**
-     * image流数据处理
+     * 按渲染参数生成PNG字节
+     */
+    public static byte[] toPng(QrCodeKey key) throws WriterException, IOException {
+        return QrImages.toPng(encode(key));
+    }
+
+    /**
+     * 按渲染参数编码为二维码矩阵
+     */
+    public static BitMatrix encode(QrCodeKey key) throws WriterException {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+
+        hints.put(EncodeHintType.ERROR_CORRECTION, key.getLevel());
+        // 设置字符编码
+        hints.put(EncodeHintType.CHARACTER_SET, "utf-8");
+        hints.put(EncodeHintType.MARGIN, key.getMargin());
+        return new MultiFormatWriter()
+                .encode(key.getContents(), BarcodeFormat.QR_CODE, key.getWidth(), key.getHeight(), hints);
+    }
+
+    private static String ifNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader("If-None-Match");
+        }
+        return null;
+    }
+
+    /**
+     * image流数据处理，生成TYPE_BYTE_BINARY图像，按行直接写入栅格缓冲区
      *
      * @author ianly
      */
     public static BufferedImage toBufferedImage(BitMatrix matrix) {
-        int width = matrix.getWidth();
-        int height = matrix.getHeight();
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                image.setRGB(x, y, matrix.get(x, y) ? 0xFF000000 : 0xFFFFFFFF);
-            }
-        }
-        return image;
+        return QrRasterizer.toBinaryImage(matrix);
     }
 }
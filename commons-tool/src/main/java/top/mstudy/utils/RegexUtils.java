@@ -1,9 +1,19 @@
 package top.mstudy.utils;
 
+import top.mstudy.utils.regex.PatternCache;
+import top.mstudy.utils.regex.RegexScanner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * @author machao
@@ -21,7 +31,7 @@ public class RegexUtils {
     public static List<String> getSubUtil(String soap, String rgex) {
         List<String> list = new ArrayList<String>();
         // 匹配的模式
-        Pattern pattern = Pattern.compile(rgex);
+        Pattern pattern = PatternCache.shared().get(rgex);
         Matcher m = pattern.matcher(soap);
         while (m.find()) {
             int i = 1;
@@ -40,11 +50,80 @@ public class RegexUtils {
      */
     public static String getSubUtilSimple(String soap, String rgex) {
         // 匹配的模式
-        Pattern pattern = Pattern.compile(rgex);
+        Pattern pattern = PatternCache.shared().get(rgex);
         Matcher m = pattern.matcher(soap);
         while (m.find()) {
             return m.group(1);
         }
         return "";
     }
+
+    /**
+     * 返回单个字符串，从Reader中边读取边匹配，找到第一个匹配即停止读取，不关闭reader
+     *
+     * @param soap 输入
+     * @param rgex 正则表达式，取第1个分组
+     * @return 没有匹配时返回空字符串
+     * @throws IOException 读取失败时抛出
+     */
+    public static String getSubUtilSimple(Reader soap, String rgex) throws IOException {
+        MatchResult m = new RegexScanner(soap, PatternCache.shared().get(rgex)).find();
+        return m == null ? "" : m.group(1);
+    }
+
+    /**
+     * 逐个把匹配的第1个分组交给handler，handler返回false时停止读取，不关闭reader
+     *
+     * @param soap    输入
+     * @param rgex    正则表达式
+     * @param handler 回调
+     * @return 交给回调的匹配数
+     * @throws IOException 读取失败时抛出
+     */
+    public static long forEach(Reader soap, String rgex, Predicate<String> handler) throws IOException {
+        return new RegexScanner(soap, PatternCache.shared().get(rgex))
+                .forEach((match, offset) -> handler.test(match.group(1)));
+    }
+
+    /**
+     * 惰性获取每个匹配的第1个分组，CharBuffer等字符序列不需要先转成String
+     *
+     * @param soap 输入
+     * @param rgex 正则表达式
+     * @return Stream
+     */
+    public static Stream<String> stream(CharSequence soap, String rgex) {
+        return RegexScanner.of(soap, PatternCache.shared().get(rgex)).stream(1);
+    }
+
+    /**
+     * 从Reader中边读取边匹配，惰性获取每个匹配的第1个分组，关闭流时关闭reader
+     *
+     * @param soap 输入
+     * @param rgex 正则表达式
+     * @return Stream
+     */
+    public static Stream<String> stream(Reader soap, String rgex) {
+        return new RegexScanner(soap, PatternCache.shared().get(rgex)).stream(1);
+    }
+
+    /**
+     * 在内存映射的文件上边解码边匹配，惰性获取每个匹配的第1个分组，使用后需要关闭流以关闭文件
+     *
+     * @param file    文件路径
+     * @param charset 文件编码
+     * @param rgex    正则表达式
+     * @return Stream
+     * @throws IOException 打开文件失败时抛出
+     */
+    public static Stream<String> stream(Path file, Charset charset, String rgex) throws IOException {
+        return RegexScanner.of(file, charset, PatternCache.shared().get(rgex)).stream(1);
+    }
+
+    /**
+     * 编译后的正则表达式缓存，可用于预先注册热点表达式或查看命中率等指标
+     */
+    public static PatternCache getPatternCache() {
+        return PatternCache.shared();
+    }
 }
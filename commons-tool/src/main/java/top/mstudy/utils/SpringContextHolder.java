@@ -5,6 +5,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import top.mstudy.utils.time.TimeHandlers;
 
 /**
  * @author machao
@@ -60,6 +61,13 @@ public class SpringContextHolder implements ApplicationContextAware, DisposableB
     }
 
 
+    /**
+     * ApplicationContext是否已注入.
+     */
+    public static boolean isContextInjected() {
+        return applicationContext != null;
+    }
+
     /**
      * 检查ApplicationContext不为空.
      */
@@ -91,6 +99,7 @@ public class SpringContextHolder implements ApplicationContextAware, DisposableB
             log.warn("SpringContextHolder中的ApplicationContext被覆盖, 原有ApplicationContext为:" + SpringContextHolder.applicationContext);
         }
         SpringContextHolder.applicationContext = applicationContext;
+        TimeHandlers.contextInjected();
     }
 }
 
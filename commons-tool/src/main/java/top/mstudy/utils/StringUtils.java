@@ -6,11 +6,11 @@ import cn.hutool.json.JSONUtil;
 import eu.bitwalker.useragentutils.Browser;
 import eu.bitwalker.useragentutils.UserAgent;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import top.mstudy.utils.regex.PatternCache;
+import top.mstudy.utils.spel.SpelKeyTemplate;
+import top.mstudy.utils.text.MarkerExtractor;
+import top.mstudy.utils.text.Splitter;
+import top.mstudy.utils.text.Splitter.Tokens;
 
 import javax.servlet.http.HttpServletRequest;
 import java.net.InetAddress;
@@ -153,30 +153,11 @@ import java.util.regex.Pattern;
      * @param str       待拆分的字符串
      * @param sep       分隔符
      * @param needBlank 空白是否需要输出
-     * @return
+     * @return 不需要字符串数组时可以直接使用Splitter，避免复制每个片段
      */
     public static String[] split(String str, String sep, boolean needBlank) {
-        int len = isBlank(str) ? 0 : str.length();
-        if (len == 0) {
-            return EMPTY_ARRAY;
-        }
-
-        if (sep.length() == 1) {
-            return split(str, sep.charAt(0), needBlank);
-        }
-        List<String> list = new ArrayList<String>();
-
-        int idx = -1, lastIdx = 0, sepLen = sep.length();
-        while ((idx = str.indexOf(sep, lastIdx)) >= 0) {
-            if (needBlank || lastIdx != idx) {
-                list.add(str.substring(lastIdx, idx));
-            }
-            lastIdx = idx + sepLen;
-        }
-        if (lastIdx != str.length()) {
-            list.add(str.substring(lastIdx));
-        }
-        return list.toArray(EMPTY_ARRAY);
+        Tokens tokens = Splitter.split(str, sep, needBlank, new Tokens());
+        return tokens.size() == 0 ? EMPTY_ARRAY : tokens.toArray();
     }
 
     /**
@@ -196,31 +177,11 @@ import java.util.regex.Pattern;
      * @param str       待拆分的字符串
      * @param sep       分隔符
      * @param needBlank 空白是否需要输出
-     * @return
+     * @return 不需要字符串数组时可以直接使用Splitter，避免复制每个片段
      */
     public static String[] split(String str, char sep, boolean needBlank) {
-        int len = isBlank(str) ? 0 : str.length();
-        if (len == 0) {
-            return EMPTY_ARRAY;
-        }
-
-        List<String> list = new ArrayList<String>();
-
-        int lastIdx = 0;
-        for (int i = 0; i < len; i++) {
-            char c = str.charAt(i);
-            if (c == sep) {
-                if (needBlank || lastIdx != i) {
-                    list.add(str.substring(lastIdx, i));
-                }
-                lastIdx = i + 1;
-            }
-        }
-        if (lastIdx != len) {
-            list.add(str.substring(lastIdx));
-        }
-
-        return list.toArray(EMPTY_ARRAY);
+        Tokens tokens = Splitter.split(str, sep, needBlank, new Tokens());
+        return tokens.size() == 0 ? EMPTY_ARRAY : tokens.toArray();
     }
 
     /**
@@ -664,7 +625,7 @@ import java.util.regex.Pattern;
      */
     public static List<String> getMatchList(CharSequence str, String regex) {
         List<String> result = new ArrayList<String>();
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = PatternCache.shared().get(regex);
         Matcher matcher = pattern.matcher(str);
         while (matcher.find()) {
             result.add(matcher.group());
@@ -678,24 +639,42 @@ import java.util.regex.Pattern;
      * @param str   查找字符串
      * @param start 开始标识
      * @param end   结束标识
-     * @return
+     * @return 开始或结束标识为空串时返回空集合
      */
     public static List<String> getMatchList(String str, String start, String end) {
         List<String> result = new ArrayList<String>();
+        // 空标识在每个位置都能匹配，不会有内容，也会使下面的查找原地打转
+        if (start.isEmpty() || end.isEmpty()) {
+            return result;
+        }
         int startLen = start.length();
         int idx = 0;
-        while ((idx = str.indexOf(start, idx)) > 0) {
+        while ((idx = str.indexOf(start, idx)) >= 0) {
             int startIdx = idx + startLen;
             int endIdx = str.indexOf(end, startIdx);
+            if (endIdx < 0) {
+                break;
+            }
             if (startIdx < endIdx) {
                 result.add(str.substring(startIdx, endIdx));
-                idx = endIdx + 1;
             }
+            idx = endIdx + end.length();
         }
 
         return result;
     }
 
+    /**
+     * 一次扫描提取多组开始、结束标识之间的内容，每组的结果与getMatchList(str, start, end)相同
+     *
+     * @param str     查找字符串
+     * @param markers 预先构建的多组标识，可以复用
+     * @return 下标为组序号
+     */
+    public static List<List<String>> getMatchLists(String str, MarkerExtractor markers) {
+        return markers.extract(str);
+    }
+
     public static String replaceParamString(String source, String oldStr, String newStr) {
         int index = source.indexOf(oldStr);
         if (index == 0) {
@@ -864,33 +843,11 @@ import java.util.regex.Pattern;
         if (!key.contains("#")) {
             return key;
         }
-        //使用下划线拆分表达式
-        String[] spelKeys = key.split("_");
-        //要返回的key
-        StringBuilder sb = new StringBuilder();
-        //遍历拆分结果用解析器解析
-        for (int i = 0; i <= spelKeys.length - 1; i++) {
-            if (!spelKeys[i].startsWith("#")) {
-                sb.append(spelKeys[i]);
-                continue;
-            }
-            String tempKey = spelKeys[i];
-            //spel解析器
-            ExpressionParser parser = new SpelExpressionParser();
-            //spel上下文
-            EvaluationContext context = new StandardEvaluationContext();
-            for (int j = 0; j < parameterNames.length; j++) {
-                context.setVariable(parameterNames[j], values[j]);
-            }
-            Expression expression = parser.parseExpression(tempKey);
-            Object value = expression.getValue(context);
-            if (value != null) {
-                sb.append(value);
-            }
-        }
+        //模板解析后缓存，每个#片段在新建的求值上下文中绑定参数求值
+        String result = SpelKeyTemplate.of(key).render(parameterNames, values);
         //返回
-        log.debug("分布式锁key：{}", sb);
-        return sb.toString();
+        log.debug("分布式锁key：{}", result);
+        return result;
     }
 
     /**
@@ -1,17 +1,16 @@
 package top.mstudy.utils;
 
 import lombok.extern.slf4j.Slf4j;
-import top.mstudy.utils.time.ITimeHandler;
-import top.mstudy.utils.time.LocalTimeHandler;
-import top.mstudy.utils.time.TimeHandlerConfig;
+import top.mstudy.utils.time.DateFormatRegistry;
+import top.mstudy.utils.time.FieldDiffs;
+import top.mstudy.utils.time.IntDates;
+import top.mstudy.utils.time.TimeHandlers;
 
 import java.sql.Timestamp;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TimeZone;
 
 import static java.util.Calendar.*;
 
@@ -25,17 +24,6 @@ public final class TimeUtils {
 
     public final static int[] MONTH_DAYS = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
 
-    private static ITimeHandler timeHandler = null;
-
-    private static final ThreadLocal<Map<String, SimpleDateFormat>> sdfMap = new ThreadLocal<Map<String, SimpleDateFormat>>() {
-        @Override
-        protected Map<String, SimpleDateFormat> initialValue() {
-            return new ConcurrentHashMap<String, SimpleDateFormat>();
-        }
-
-        ;
-    };
-
     private static final ThreadLocal<Calendar> calendarLocal = new ThreadLocal<Calendar>() {
         @Override
         protected Calendar initialValue() {
@@ -54,22 +42,8 @@ public final class TimeUtils {
 
     public static final String DATE_FORMAT = "yyyy-MM-dd";
 
-    private static TimeHandlerConfig timeHandlerConfig = SpringContextHolder.getBean(TimeHandlerConfig.class);
-
-    static {
-        try {
-            Class<?> clz = Class.forName(timeHandlerConfig.getHandler());
-            timeHandler = (ITimeHandler) clz.newInstance();
-        } catch (ClassNotFoundException e) {
-            timeHandler = new LocalTimeHandler();
-            log.error(e.getMessage() + " 未找到，强制使用本地时间处理器！");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     protected static final String getSysDate(String format, boolean isLocal) throws Exception {
-        return format(new Date(currentTimeMillis(isLocal)), format);
+        return DateFormatRegistry.formatCached(currentTimeMillis(isLocal), format);
     }
 
     public static final String getSysDate(String format) throws Exception {
@@ -130,7 +104,7 @@ public final class TimeUtils {
     }
 
     public static final long currentTimeMillis(boolean isLocal) throws Exception {
-        return timeHandler.currentTimeMillis(isLocal);
+        return TimeHandlers.get().currentTimeMillis(isLocal);
     }
 
     public static final int getDayOfMonth() throws Exception {
@@ -193,13 +167,7 @@ public final class TimeUtils {
         if (StringUtils.isBlank(format)) {
             format = getTimestampFormat(timeStr);
         }
-        SimpleDateFormat sdf = getSimpleDateFormat(format);
-        try {
-            Date date = sdf.parse(timeStr);
-            return new Timestamp(date.getTime());
-        } catch (ParseException e) {
-            throw e;
-        }
+        return new Timestamp(DateFormatRegistry.parseMillis(timeStr, format));
     }
 
     public static final String format(Date time) {
@@ -207,8 +175,7 @@ public final class TimeUtils {
     }
 
     public static final String format(Date time, String format) {
-        SimpleDateFormat sdf = getSimpleDateFormat(format);
-        return sdf.format(time);
+        return DateFormatRegistry.format(time, format);
     }
 
     public static final String format(String time, String format) throws Exception {
@@ -221,6 +188,12 @@ public final class TimeUtils {
         return format(parse(time), format);
     }
 
+    /**
+     * 获取一个新的SimpleDateFormat实例，格式化和解析请直接使用format/parse方法，它们走共享的格式化器缓存
+     *
+     * @param format 日期格式串
+     * @return SimpleDateFormat
+     */
     public static final SimpleDateFormat getSimpleDateFormat(final String format) {
         try {
             return new SimpleDateFormat(format);
@@ -248,36 +221,20 @@ public final class TimeUtils {
     }
 
     public static long compareDate(Date date1, Date date2, int field) throws Exception {
-        Calendar c1 = Calendar.getInstance();
-        c1.setTime(date1);
-
-        Calendar c2 = Calendar.getInstance();
-        c2.setTime(date2);
-
-        return compareCalendar(c1, c2, field);
+        return FieldDiffs.diff(date1.getTime(), date2.getTime(), field, TimeZone.getDefault());
     }
 
+    /**
+     * 比较两个日历在指定字段上的差值，DATE、MONTH、YEAR按各自时区的本地日期计算，考虑夏令时
+     *
+     * @param c1    日历1
+     * @param c2    日历2
+     * @param field Calendar字段
+     * @return c1 - c2
+     * @throws Exception
+     */
     public static long compareCalendar(Calendar c1, Calendar c2, int field) throws Exception {
-        long t1 = c1.getTimeInMillis();
-        long t2 = c2.getTimeInMillis();
-
-        switch (field) {
-        case SECOND:
-            return t1 / 1000 - t2 / 1000;
-        case MINUTE:
-            return t1 / 60000 - t2 / 60000;
-        case HOUR:
-            return t1 / 3600000 - t2 / 3600000;
-        case DATE:
-            int rawOffset = c1.getTimeZone().getRawOffset();
-            return (t1 + rawOffset) / 86400000 - (t2 + rawOffset) / 86400000;
-        case MONTH:
-            return c1.get(YEAR) * 12 - c2.get(YEAR) * 12 + c1.get(MONTH) - c2.get(MONTH);
-        case YEAR:
-            return c1.get(YEAR) - c2.get(YEAR);
-        default:
-            return t1 - t2;
-        }
+        return FieldDiffs.diff(c1.getTimeInMillis(), c1.getTimeZone(), c2.getTimeInMillis(), c2.getTimeZone(), field);
     }
 
     /**
@@ -567,15 +524,7 @@ public final class TimeUtils {
      * @return
      */
     public static final int getLastDay(int yyyyMM) {
-        int yyyy = yyyyMM / 100;
-        int mm = yyyyMM % 100;
-        if (mm != 2) {
-            return MONTH_DAYS[mm - 1];
-        }
-        if (yyyy % 400 == 0 || (yyyy % 100 != 0 && yyyy % 4 == 0)) {
-            return 29;
-        }
-        return 28;
+        return IntDates.lengthOfMonth(yyyyMM / 100, yyyyMM % 100);
     }
 
     /**
@@ -0,0 +1,253 @@
+package top.mstudy.utils.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * @author machao
+ * @description: 查表实现的Base64编解码，标准字母表或URL安全字母表，总是带=补齐
+ * 支持写入调用方提供的char[]、byte[]和ByteBuffer；
+ * 解码严格校验，长度不是4的倍数、含字母表外字符或补齐位置不对时抛出IllegalArgumentException
+ * @date 2026-10-18
+ */
+public final class Base64Codec {
+
+    private static final char PAD = '=';
+
+    private static final char[] STANDARD = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+            .toCharArray();
+
+    private static final char[] URL_SAFE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .toCharArray();
+
+    private static final byte[] DECODE_STANDARD = decodeTable(STANDARD);
+
+    private static final byte[] DECODE_URL_SAFE = decodeTable(URL_SAFE);
+
+    private Base64Codec() {
+    }
+
+    public static String encode(byte[] data) {
+        return encode(data, false);
+    }
+
+    /**
+     * 编码为Base64字符串
+     *
+     * @param data    字节数组
+     * @param urlSafe 是否使用URL安全字母表（-和_代替+和/）
+     * @return String
+     */
+    public static String encode(byte[] data, boolean urlSafe) {
+        char[] out = new char[encodedLength(data.length)];
+        encode(data, 0, data.length, out, 0, urlSafe);
+        return new String(out);
+    }
+
+    /**
+     * 编码后的字符数
+     *
+     * @param length 字节数
+     * @return int
+     */
+    public static int encodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * 编码到调用方提供的字符数组
+     *
+     * @param data      字节数组
+     * @param offset    起始位置
+     * @param length    长度
+     * @param out       输出数组，剩余空间至少为encodedLength(length)
+     * @param outOffset 输出起始位置
+     * @param urlSafe   是否使用URL安全字母表
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] data, int offset, int length, char[] out, int outOffset, boolean urlSafe) {
+        char[] alphabet = urlSafe ? URL_SAFE : STANDARD;
+        int end = offset + length;
+        int full = offset + length / 3 * 3;
+        int i = offset;
+        int j = outOffset;
+        while (i < full) {
+            int bits = (data[i++] & 0xff) << 16 | (data[i++] & 0xff) << 8 | (data[i++] & 0xff);
+            out[j++] = alphabet[bits >>> 18];
+            out[j++] = alphabet[bits >>> 12 & 0x3f];
+            out[j++] = alphabet[bits >>> 6 & 0x3f];
+            out[j++] = alphabet[bits & 0x3f];
+        }
+        if (i < end) {
+            int bits = (data[i++] & 0xff) << 16;
+            boolean two = i < end;
+            if (two) {
+                bits |= (data[i] & 0xff) << 8;
+            }
+            out[j++] = alphabet[bits >>> 18];
+            out[j++] = alphabet[bits >>> 12 & 0x3f];
+            out[j++] = two ? alphabet[bits >>> 6 & 0x3f] : PAD;
+            out[j++] = PAD;
+        }
+        return j - outOffset;
+    }
+
+    /**
+     * 将src中剩余的字节编码为ASCII字符写入dst，两个缓冲区的position都会前移
+     *
+     * @param src     输入
+     * @param dst     输出，剩余空间至少为encodedLength(src.remaining())
+     * @param urlSafe 是否使用URL安全字母表
+     * @return 写入的字节数
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst, boolean urlSafe) {
+        int length = encodedLength(src.remaining());
+        if (dst.remaining() < length) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        char[] alphabet = urlSafe ? URL_SAFE : STANDARD;
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xff) << 16 | (src.get() & 0xff) << 8 | (src.get() & 0xff);
+            dst.put((byte) alphabet[bits >>> 18]);
+            dst.put((byte) alphabet[bits >>> 12 & 0x3f]);
+            dst.put((byte) alphabet[bits >>> 6 & 0x3f]);
+            dst.put((byte) alphabet[bits & 0x3f]);
+        }
+        if (src.hasRemaining()) {
+            int bits = (src.get() & 0xff) << 16;
+            boolean two = src.hasRemaining();
+            if (two) {
+                bits |= (src.get() & 0xff) << 8;
+            }
+            dst.put((byte) alphabet[bits >>> 18]);
+            dst.put((byte) alphabet[bits >>> 12 & 0x3f]);
+            dst.put((byte) (two ? alphabet[bits >>> 6 & 0x3f] : PAD));
+            dst.put((byte) PAD);
+        }
+        return length;
+    }
+
+    public static byte[] decode(CharSequence text) {
+        return decode(text, false);
+    }
+
+    /**
+     * 解码Base64字符串
+     *
+     * @param text    Base64字符串
+     * @param urlSafe 是否使用URL安全字母表
+     * @return byte[]
+     * @throws IllegalArgumentException 格式不合法时抛出
+     */
+    public static byte[] decode(CharSequence text, boolean urlSafe) {
+        byte[] out = new byte[decodedLength(text, 0, text.length())];
+        decode(text, 0, text.length(), out, 0, urlSafe);
+        return out;
+    }
+
+    /**
+     * 解码后的字节数
+     *
+     * @param text   Base64字符
+     * @param offset 起始位置
+     * @param length 字符数，必须为4的倍数
+     * @return int
+     */
+    public static int decodedLength(CharSequence text, int offset, int length) {
+        if ((length & 3) != 0) {
+            throw new IllegalArgumentException("Base64字符串长度必须为4的倍数：" + length);
+        }
+        if (length == 0) {
+            return 0;
+        }
+        int pad = text.charAt(offset + length - 1) == PAD ? text.charAt(offset + length - 2) == PAD ? 2 : 1 : 0;
+        return length / 4 * 3 - pad;
+    }
+
+    /**
+     * 解码到调用方提供的字节数组
+     *
+     * @param text      Base64字符
+     * @param offset    起始位置
+     * @param length    字符数，必须为4的倍数
+     * @param out       输出数组，剩余空间至少为decodedLength
+     * @param outOffset 输出起始位置
+     * @param urlSafe   是否使用URL安全字母表
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence text, int offset, int length, byte[] out, int outOffset,
+            boolean urlSafe) {
+        int size = decodedLength(text, offset, length);
+        byte[] table = urlSafe ? DECODE_URL_SAFE : DECODE_STANDARD;
+        int end = offset + length;
+        int j = outOffset;
+        for (int i = offset; i < end; i += 4) {
+            boolean last = i + 4 == end;
+            int bits = value(text, i, table) << 18 | value(text, i + 1, table) << 12;
+            out[j++] = (byte) (bits >>> 16);
+            char c3 = text.charAt(i + 2);
+            char c4 = text.charAt(i + 3);
+            if (last && c3 == PAD) {
+                if (c4 != PAD) {
+                    throw new IllegalArgumentException("Base64补齐字符位置不正确，位置：" + (i + 2));
+                }
+                break;
+            }
+            bits |= value(text, i + 2, table) << 6;
+            out[j++] = (byte) (bits >>> 8);
+            if (last && c4 == PAD) {
+                break;
+            }
+            bits |= value(text, i + 3, table);
+            out[j++] = (byte) bits;
+        }
+        return size;
+    }
+
+    public static int decode(char[] text, int offset, int length, byte[] out, int outOffset, boolean urlSafe) {
+        return decode(CharBuffer.wrap(text), offset, length, out, outOffset, urlSafe);
+    }
+
+    /**
+     * 解码到ByteBuffer，dst的position前移
+     *
+     * @param text    Base64字符
+     * @param dst     输出
+     * @param urlSafe 是否使用URL安全字母表
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence text, ByteBuffer dst, boolean urlSafe) {
+        int size = decodedLength(text, 0, text.length());
+        if (dst.remaining() < size) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        if (dst.hasArray()) {
+            int written = decode(text, 0, text.length(), dst.array(), dst.arrayOffset() + dst.position(), urlSafe);
+            dst.position(dst.position() + written);
+            return written;
+        }
+        byte[] out = new byte[size];
+        decode(text, 0, text.length(), out, 0, urlSafe);
+        dst.put(out);
+        return size;
+    }
+
+    private static int value(CharSequence text, int index, byte[] table) {
+        char c = text.charAt(index);
+        int value = c < 128 ? table[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("非法的Base64字符'" + c + "'，位置：" + index);
+        }
+        return value;
+    }
+
+    private static byte[] decodeTable(char[] alphabet) {
+        byte[] table = new byte[128];
+        Arrays.fill(table, (byte) -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            table[alphabet[i]] = (byte) i;
+        }
+        return table;
+    }
+}
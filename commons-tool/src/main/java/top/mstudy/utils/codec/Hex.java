@@ -0,0 +1,236 @@
+package top.mstudy.utils.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * @author machao
+ * @description: 查表实现的十六进制编解码
+ * 编码按字节查表一次输出两个字符，解码按字符查表，不经过substring、Integer.parseInt和StringBuffer；
+ * 支持写入调用方提供的char[]、byte[]和ByteBuffer以复用缓冲区；
+ * 解码严格校验，长度为奇数或含非十六进制字符时抛出IllegalArgumentException
+ * @date 2026-10-18
+ */
+public final class Hex {
+
+    private static final char[] LOWER_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final char[] UPPER_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 每个字节对应的两个十六进制字符，下标为 (byte & 0xff) << 1
+     */
+    private static final char[] LOWER_TABLE = pairs(LOWER_DIGITS);
+
+    private static final char[] UPPER_TABLE = pairs(UPPER_DIGITS);
+
+    /**
+     * ASCII字符对应的半字节值，非十六进制字符为-1
+     */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            DECODE_TABLE[LOWER_DIGITS[i]] = (byte) i;
+            DECODE_TABLE[UPPER_DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private Hex() {
+    }
+
+    /**
+     * 编码为小写十六进制字符串
+     *
+     * @param data 字节数组
+     * @return String
+     */
+    public static String encode(byte[] data) {
+        return encode(data, false);
+    }
+
+    public static String encode(byte[] data, boolean upperCase) {
+        return new String(encodeToChars(data, 0, data.length, upperCase));
+    }
+
+    /**
+     * 字节数组的指定区间编码为十六进制字符
+     *
+     * @param data      字节数组
+     * @param offset    起始位置
+     * @param length    长度
+     * @param upperCase 是否大写
+     * @return char[]
+     */
+    public static char[] encodeToChars(byte[] data, int offset, int length, boolean upperCase) {
+        char[] out = new char[length << 1];
+        encode(data, offset, length, out, 0, upperCase);
+        return out;
+    }
+
+    /**
+     * 编码到调用方提供的字符数组
+     *
+     * @param data      字节数组
+     * @param offset    起始位置
+     * @param length    长度
+     * @param out       输出数组，剩余空间至少为length * 2
+     * @param outOffset 输出起始位置
+     * @param upperCase 是否大写
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] data, int offset, int length, char[] out, int outOffset, boolean upperCase) {
+        char[] table = upperCase ? UPPER_TABLE : LOWER_TABLE;
+        for (int i = offset, j = outOffset, end = offset + length; i < end; i++, j += 2) {
+            int idx = (data[i] & 0xff) << 1;
+            out[j] = table[idx];
+            out[j + 1] = table[idx + 1];
+        }
+        return length << 1;
+    }
+
+    /**
+     * 将src中剩余的字节编码为ASCII十六进制字符写入dst，两个缓冲区的position都会前移
+     *
+     * @param src       输入
+     * @param dst       输出，剩余空间至少为src.remaining() * 2
+     * @param upperCase 是否大写
+     * @return 写入的字节数
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst, boolean upperCase) {
+        int length = src.remaining();
+        if (dst.remaining() < length << 1) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        char[] table = upperCase ? UPPER_TABLE : LOWER_TABLE;
+        while (src.hasRemaining()) {
+            int idx = (src.get() & 0xff) << 1;
+            dst.put((byte) table[idx]);
+            dst.put((byte) table[idx + 1]);
+        }
+        return length << 1;
+    }
+
+    /**
+     * 解码十六进制字符串，大小写均可
+     *
+     * @param hex 十六进制字符串
+     * @return byte[]
+     * @throws IllegalArgumentException 长度为奇数或含非十六进制字符时抛出
+     */
+    public static byte[] decode(CharSequence hex) {
+        int length = checkLength(hex.length());
+        byte[] out = new byte[length >> 1];
+        decode(hex, 0, length, out, 0);
+        return out;
+    }
+
+    /**
+     * 解码到调用方提供的字节数组
+     *
+     * @param hex       十六进制字符
+     * @param offset    起始位置
+     * @param length    字符数，必须为偶数
+     * @param out       输出数组，剩余空间至少为length / 2
+     * @param outOffset 输出起始位置
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence hex, int offset, int length, byte[] out, int outOffset) {
+        checkLength(length);
+        for (int i = offset, j = outOffset, end = offset + length; i < end; i += 2, j++) {
+            out[j] = (byte) (nibble(hex, i) << 4 | nibble(hex, i + 1));
+        }
+        return length >> 1;
+    }
+
+    public static int decode(char[] hex, int offset, int length, byte[] out, int outOffset) {
+        return decode(CharBuffer.wrap(hex), offset, length, out, outOffset);
+    }
+
+    /**
+     * 解码到ByteBuffer，dst的position前移
+     *
+     * @param hex 十六进制字符
+     * @param dst 输出，剩余空间至少为hex.length() / 2
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence hex, ByteBuffer dst) {
+        int length = checkLength(hex.length());
+        if (dst.remaining() < length >> 1) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        for (int i = 0; i < length; i += 2) {
+            dst.put((byte) (nibble(hex, i) << 4 | nibble(hex, i + 1)));
+        }
+        return length >> 1;
+    }
+
+    /**
+     * 将src中剩余的ASCII十六进制字符解码写入dst，两个缓冲区的position都会前移
+     *
+     * @param src 输入，剩余字节数必须为偶数
+     * @param dst 输出，剩余空间至少为src.remaining() / 2
+     * @return 写入的字节数
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        int length = checkLength(src.remaining());
+        if (dst.remaining() < length >> 1) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        while (src.hasRemaining()) {
+            int index = src.position();
+            int high = nibble(src.get(), index);
+            dst.put((byte) (high << 4 | nibble(src.get(), index + 1)));
+        }
+        return length >> 1;
+    }
+
+    /**
+     * 是否为合法的十六进制字符串（偶数长度，只含0-9、a-f、A-F）
+     *
+     * @param hex 字符串
+     * @return boolean
+     */
+    public static boolean isHex(CharSequence hex) {
+        if (hex == null || (hex.length() & 1) != 0) {
+            return false;
+        }
+        for (int i = 0; i < hex.length(); i++) {
+            char c = hex.charAt(i);
+            if (c >= 128 || DECODE_TABLE[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nibble(CharSequence hex, int index) {
+        return nibble(hex.charAt(index), index);
+    }
+
+    private static int nibble(int c, int index) {
+        int value = c >= 0 && c < 128 ? DECODE_TABLE[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("非法的十六进制字符'" + (char) c + "'，位置：" + index);
+        }
+        return value;
+    }
+
+    private static int checkLength(int length) {
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("十六进制字符串长度必须为偶数：" + length);
+        }
+        return length;
+    }
+
+    private static char[] pairs(char[] digits) {
+        char[] table = new char[512];
+        for (int i = 0; i < 256; i++) {
+            table[i << 1] = digits[i >>> 4];
+            table[(i << 1) + 1] = digits[i & 0xf];
+        }
+        return table;
+    }
+}
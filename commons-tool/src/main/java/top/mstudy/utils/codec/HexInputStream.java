@@ -0,0 +1,96 @@
+package top.mstudy.utils.codec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @author machao
+ * @description: 从下层输入流读取ASCII十六进制字符并解码为字节，使用定长缓冲区分段解码；
+ * 含非十六进制字符或字符总数为奇数时抛出IOException
+ * @date 2026-10-18
+ */
+public class HexInputStream extends FilterInputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] chars = new byte[BUFFER_SIZE];
+
+    /**
+     * 单字节read()使用的缓冲区
+     */
+    private final byte[] single = new byte[1];
+
+    /**
+     * 上次读取后剩下的不成对的字符
+     */
+    private int pending = -1;
+
+    public HexInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pending >= 0) {
+            chars[0] = (byte) pending;
+            count = 1;
+            pending = -1;
+        }
+        // len超过2^30时len << 1会溢出为负数
+        int want = (int) Math.min(2L * len, BUFFER_SIZE);
+        while (count < 2) {
+            int n = in.read(chars, count, want - count);
+            if (n < 0) {
+                if (count > 0) {
+                    throw new IOException("十六进制字符总数为奇数");
+                }
+                return -1;
+            }
+            count += n;
+        }
+        if ((count & 1) != 0) {
+            pending = chars[--count];
+        }
+        try {
+            return Hex.decode(ByteBuffer.wrap(chars, 0, count), ByteBuffer.wrap(b, off, len));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] skipped = new byte[(int) Math.min(n, BUFFER_SIZE >> 1)];
+        long total = 0;
+        while (total < n) {
+            int read = read(skipped, 0, (int) Math.min(n - total, skipped.length));
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (in.available() + (pending >= 0 ? 1 : 0)) >> 1;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package top.mstudy.utils.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @author machao
+ * @description: 把写入的字节编码为ASCII十六进制字符后写到下层输出流，使用定长缓冲区分段编码
+ * @date 2026-10-18
+ */
+public class HexOutputStream extends FilterOutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean upperCase;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * 单字节write(int)使用的缓冲区
+     */
+    private final byte[] single = new byte[1];
+
+    public HexOutputStream(OutputStream out) {
+        this(out, false);
+    }
+
+    public HexOutputStream(OutputStream out, boolean upperCase) {
+        super(out);
+        this.upperCase = upperCase;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        for (int from = off; from < end; ) {
+            int count = Math.min(end - from, BUFFER_SIZE >> 1);
+            buffer.clear();
+            Hex.encode(ByteBuffer.wrap(b, from, count), buffer, upperCase);
+            out.write(buffer.array(), 0, buffer.position());
+            from += count;
+        }
+    }
+}
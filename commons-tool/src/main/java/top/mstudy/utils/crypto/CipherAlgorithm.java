@@ -0,0 +1,49 @@
+package top.mstudy.utils.crypto;
+
+/**
+ * @author machao
+ * @description: CryptoEngine支持的对称加密算法
+ * @date 2026-10-18
+ */
+public enum CipherAlgorithm {
+
+    /**
+     * DES/CBC/PKCS5Padding，8字节密钥，向量与密钥相同，与DescUtils原有的密文兼容；
+     * 相同明文总是得到相同密文，只用于兼容旧数据
+     */
+    DES_CBC("DES/CBC/PKCS5Padding", "DES", 0),
+
+    /**
+     * AES/GCM/NoPadding，16、24或32字节密钥，每次加密生成12字节随机向量并放在密文开头，带128位认证标签
+     */
+    AES_GCM("AES/GCM/NoPadding", "AES", 12);
+
+    private final String transformation;
+
+    private final String keyAlgorithm;
+
+    private final int ivLength;
+
+    CipherAlgorithm(String transformation, String keyAlgorithm, int ivLength) {
+        this.transformation = transformation;
+        this.keyAlgorithm = keyAlgorithm;
+        this.ivLength = ivLength;
+    }
+
+    public String getTransformation() {
+        return transformation;
+    }
+
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * 密文开头随机向量的长度，0表示使用固定向量
+     *
+     * @return int
+     */
+    public int getIvLength() {
+        return ivLength;
+    }
+}
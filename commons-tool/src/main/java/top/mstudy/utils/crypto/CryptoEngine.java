@@ -0,0 +1,365 @@
+package top.mstudy.utils.crypto;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.DESKeySpec;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * @author machao
+ * @description: 可复用的对称加解密引擎，线程安全
+ * 密钥只在创建时生成一次，每个线程持有各自已初始化的Cipher，避免每次调用都查找算法提供者、生成密钥；
+ * DES_CBC使用固定向量，Cipher初始化一次后反复使用；AES_GCM每次加密都生成新的随机向量，只复用Cipher实例；
+ * AES_GCM的流式加解密按定长分段认证，解密不需要把整个密文缓存在内存中
+ * @date 2026-10-18
+ */
+public final class CryptoEngine {
+
+    /**
+     * AES_GCM流式加密时每段明文的长度
+     */
+    public static final int SEGMENT_SIZE = 64 << 10;
+
+    private static final int GCM_TAG_BITS = 128;
+
+    private static final int GCM_TAG_LENGTH = GCM_TAG_BITS / 8;
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    /**
+     * AES_GCM流式密文开头随机前缀的长度，向量的其余4字节为分段序号
+     */
+    private static final int NONCE_PREFIX_LENGTH = 8;
+
+    private static final byte[] MIDDLE_SEGMENT = { 0 };
+
+    private static final byte[] LAST_SEGMENT = { 1 };
+
+    private static final ThreadLocal<SecureRandom> randomLocal = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final CipherAlgorithm algorithm;
+
+    private final SecretKey key;
+
+    private final byte[] fixedIv;
+
+    private final ThreadLocal<Cipher> encryptLocal;
+
+    private final ThreadLocal<Cipher> decryptLocal;
+
+    private CryptoEngine(CipherAlgorithm algorithm, SecretKey key, byte[] fixedIv) {
+        this.algorithm = algorithm;
+        this.key = key;
+        this.fixedIv = fixedIv;
+        this.encryptLocal = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptLocal = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+    }
+
+    /**
+     * 创建DES/CBC引擎，密钥按UTF-8取前8字节，向量与密钥相同
+     *
+     * @param key 密钥，至少8字节
+     * @return CryptoEngine
+     * @throws GeneralSecurityException 密钥不合法时抛出
+     */
+    public static CryptoEngine des(String key) throws GeneralSecurityException {
+        return of(CipherAlgorithm.DES_CBC, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 创建AES/GCM引擎
+     *
+     * @param key 密钥，16、24或32字节
+     * @return CryptoEngine
+     * @throws GeneralSecurityException 密钥不合法时抛出
+     */
+    public static CryptoEngine aesGcm(byte[] key) throws GeneralSecurityException {
+        return of(CipherAlgorithm.AES_GCM, key);
+    }
+
+    /**
+     * 按算法和密钥创建引擎
+     *
+     * @param algorithm 加密算法
+     * @param key       密钥
+     * @return CryptoEngine
+     * @throws GeneralSecurityException 密钥不合法时抛出
+     */
+    public static CryptoEngine of(CipherAlgorithm algorithm, byte[] key) throws GeneralSecurityException {
+        switch (algorithm) {
+        case DES_CBC:
+            SecretKey desKey = SecretKeyFactory.getInstance(algorithm.getKeyAlgorithm())
+                    .generateSecret(new DESKeySpec(key));
+            return checked(new CryptoEngine(algorithm, desKey, Arrays.copyOf(key, 8)));
+        case AES_GCM:
+            if (key.length != 16 && key.length != 24 && key.length != 32) {
+                throw new InvalidKeyException("AES密钥长度必须为16、24或32字节：" + key.length);
+            }
+            return checked(new CryptoEngine(algorithm, new SecretKeySpec(key, algorithm.getKeyAlgorithm()), null));
+        default:
+            throw new GeneralSecurityException("不支持的加密算法：" + algorithm);
+        }
+    }
+
+    public CipherAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 加密，AES_GCM的结果为 向量 + 密文 + 认证标签
+     *
+     * @param plain 明文
+     * @return byte[]
+     * @throws GeneralSecurityException 加密失败时抛出
+     */
+    public byte[] encrypt(byte[] plain) throws GeneralSecurityException {
+        return encrypt(plain, 0, plain.length);
+    }
+
+    public byte[] encrypt(byte[] plain, int offset, int length) throws GeneralSecurityException {
+        Cipher cipher = encryptLocal.get();
+        try {
+            if (fixedIv != null) {
+                return cipher.doFinal(plain, offset, length);
+            }
+            int ivLength = algorithm.getIvLength();
+            byte[] iv = new byte[ivLength];
+            randomLocal.get().nextBytes(iv);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] out = new byte[ivLength + cipher.getOutputSize(length)];
+            System.arraycopy(iv, 0, out, 0, ivLength);
+            int written = cipher.doFinal(plain, offset, length, out, ivLength);
+            return written + ivLength == out.length ? out : Arrays.copyOf(out, ivLength + written);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            encryptLocal.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * 解密
+     *
+     * @param data 密文，AES_GCM需要包含开头的向量
+     * @return byte[]
+     * @throws GeneralSecurityException 解密或认证失败时抛出
+     */
+    public byte[] decrypt(byte[] data) throws GeneralSecurityException {
+        return decrypt(data, 0, data.length);
+    }
+
+    public byte[] decrypt(byte[] data, int offset, int length) throws GeneralSecurityException {
+        Cipher cipher = decryptLocal.get();
+        try {
+            if (fixedIv != null) {
+                return cipher.doFinal(data, offset, length);
+            }
+            int ivLength = algorithm.getIvLength();
+            if (length < ivLength) {
+                throw new AEADBadTagException("密文长度不足");
+            }
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, data, offset, ivLength));
+            return cipher.doFinal(data, offset + ivLength, length - ivLength);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // 出错后Cipher可能停留在中间状态，丢弃后下次重新创建
+            decryptLocal.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * 流式加密，从输入流读取到结束，密文写入输出流，两个流都不关闭，只占用定长缓冲区；
+     * AES_GCM使用分段格式，与encrypt(byte[])的结果不通用，需要用decrypt(InputStream, OutputStream)解密：
+     * 开头为8字节随机前缀，之后明文每SEGMENT_SIZE字节加密为一段（最后一段可以更短或为空），每段带各自的认证标签，
+     * 第i段的向量为 前缀 + i（4字节大端），附加数据标记是否为最后一段，调换、删除或截断分段都无法通过认证
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @return 读取的明文字节数
+     * @throws IOException              读写失败时抛出
+     * @throws GeneralSecurityException 加密失败时抛出
+     */
+    public long encrypt(InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        Cipher cipher = encryptLocal.get();
+        try {
+            return fixedIv == null ? sealSegments(cipher, in, out) : pump(cipher, in, out);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            encryptLocal.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * 流式解密，从输入流读取到结束，明文写入输出流，两个流都不关闭，只占用定长缓冲区；
+     * AES_GCM逐段认证后输出，某一段认证失败时抛出AEADBadTagException，此前已认证的分段已经写出
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @return 读取的密文字节数
+     * @throws IOException              读写失败时抛出
+     * @throws GeneralSecurityException 解密或认证失败时抛出
+     */
+    public long decrypt(InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        Cipher cipher = decryptLocal.get();
+        try {
+            return fixedIv == null ? openSegments(cipher, in, out) : pump(cipher, in, out);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            decryptLocal.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * 基于通道的流式加密，见encrypt(InputStream, OutputStream)
+     */
+    public long encrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException, GeneralSecurityException {
+        return encrypt(Channels.newInputStream(in), Channels.newOutputStream(out));
+    }
+
+    /**
+     * 基于通道的流式解密，见decrypt(InputStream, OutputStream)
+     */
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException, GeneralSecurityException {
+        return decrypt(Channels.newInputStream(in), Channels.newOutputStream(out));
+    }
+
+    /**
+     * DES_CBC的流式处理，CBC每次update的输出不超过输入加一个分组，输出缓冲区按单次读取的需要分配一次
+     */
+    private static long pump(Cipher cipher, InputStream in, OutputStream out)
+            throws IOException, GeneralSecurityException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] output = new byte[BUFFER_SIZE + cipher.getBlockSize()];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(output, 0, cipher.update(buffer, 0, read, output, 0));
+            total += read;
+        }
+        out.write(output, 0, cipher.doFinal(output, 0));
+        return total;
+    }
+
+    private long sealSegments(Cipher cipher, InputStream in, OutputStream out)
+            throws IOException, GeneralSecurityException {
+        byte[] iv = new byte[algorithm.getIvLength()];
+        randomLocal.get().nextBytes(iv);
+        out.write(iv, 0, NONCE_PREFIX_LENGTH);
+        // 多读一个字节，用来判断当前分段是否为最后一段
+        byte[] plain = new byte[SEGMENT_SIZE + 1];
+        byte[] sealed = new byte[SEGMENT_SIZE + GCM_TAG_LENGTH];
+        int carried = 0;
+        long total = 0;
+        for (long segment = 0; ; segment++) {
+            int n = carried + readFully(in, plain, carried, plain.length - carried);
+            boolean last = n <= SEGMENT_SIZE;
+            int length = last ? n : SEGMENT_SIZE;
+            initSegment(cipher, Cipher.ENCRYPT_MODE, iv, segment, last);
+            out.write(sealed, 0, cipher.doFinal(plain, 0, length, sealed, 0));
+            total += length;
+            if (last) {
+                return total;
+            }
+            plain[0] = plain[SEGMENT_SIZE];
+            carried = 1;
+        }
+    }
+
+    private long openSegments(Cipher cipher, InputStream in, OutputStream out)
+            throws IOException, GeneralSecurityException {
+        byte[] iv = new byte[algorithm.getIvLength()];
+        if (readFully(in, iv, 0, NONCE_PREFIX_LENGTH) < NONCE_PREFIX_LENGTH) {
+            throw new AEADBadTagException("密文长度不足");
+        }
+        byte[] sealed = new byte[SEGMENT_SIZE + GCM_TAG_LENGTH + 1];
+        byte[] plain = new byte[SEGMENT_SIZE];
+        int carried = 0;
+        long total = NONCE_PREFIX_LENGTH;
+        for (long segment = 0; ; segment++) {
+            int n = readFully(in, sealed, carried, sealed.length - carried);
+            total += n;
+            n += carried;
+            boolean last = n < sealed.length;
+            int length = last ? n : sealed.length - 1;
+            if (length < GCM_TAG_LENGTH) {
+                throw new AEADBadTagException("密文被截断");
+            }
+            initSegment(cipher, Cipher.DECRYPT_MODE, iv, segment, last);
+            out.write(plain, 0, cipher.doFinal(sealed, 0, length, plain, 0));
+            if (last) {
+                return total;
+            }
+            sealed[0] = sealed[length];
+            carried = 1;
+        }
+    }
+
+    private void initSegment(Cipher cipher, int mode, byte[] iv, long segment, boolean last)
+            throws GeneralSecurityException {
+        if (segment > 0xffffffffL) {
+            throw new GeneralSecurityException("分段数超出上限");
+        }
+        iv[NONCE_PREFIX_LENGTH] = (byte) (segment >>> 24);
+        iv[NONCE_PREFIX_LENGTH + 1] = (byte) (segment >>> 16);
+        iv[NONCE_PREFIX_LENGTH + 2] = (byte) (segment >>> 8);
+        iv[NONCE_PREFIX_LENGTH + 3] = (byte) segment;
+        cipher.init(mode, key, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        cipher.updateAAD(last ? LAST_SEGMENT : MIDDLE_SEGMENT);
+    }
+
+    /**
+     * 读取到填满len个字节或输入结束
+     */
+    private static int readFully(InputStream in, byte[] b, int off, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int n = in.read(b, off + total, len - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(algorithm.getTransformation());
+            if (fixedIv != null) {
+                cipher.init(mode, key, new IvParameterSpec(fixedIv));
+            }
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("创建Cipher发生错误：" + algorithm.getTransformation(), e);
+        }
+    }
+
+    /**
+     * 在创建时就初始化一次，使算法或密钥不可用的问题在创建引擎时暴露
+     */
+    private static CryptoEngine checked(CryptoEngine engine) throws GeneralSecurityException {
+        try {
+            engine.encryptLocal.get();
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) e.getCause();
+            }
+            throw e;
+        }
+        return engine;
+    }
+}
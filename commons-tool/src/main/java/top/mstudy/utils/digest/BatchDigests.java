@@ -0,0 +1,231 @@
+package top.mstudy.utils.digest;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author machao
+ * @description: 批量摘要计算，输入按batchSize切片后提交到线程池，同时在途的切片不超过maxInFlight个，
+ * 消费速度跟不上时不再继续提交，避免数百万个任务一次性堆积在队列中；
+ * 结果按输入顺序返回，单个元素失败时记录在对应的DigestResult中，不影响其他元素
+ * @date 2026-10-18
+ */
+public class BatchDigests {
+
+    /**
+     * 默认的切片大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ExecutorService executor;
+
+    private final int batchSize;
+
+    private final int maxInFlight;
+
+    /**
+     * 使用给定线程池，切片大小为DEFAULT_BATCH_SIZE，在途切片数为线程数的两倍
+     *
+     * @param executor 线程池，由调用方负责关闭
+     * @param threads  线程池的并行度
+     */
+    public BatchDigests(ExecutorService executor, int threads) {
+        this(executor, DEFAULT_BATCH_SIZE, threads * 2);
+    }
+
+    /**
+     * @param executor    线程池，由调用方负责关闭
+     * @param batchSize   每个任务处理的元素个数，对文件等耗时较长的输入可以设为1
+     * @param maxInFlight 同时提交未消费的切片个数上限
+     */
+    public BatchDigests(ExecutorService executor, int batchSize, int maxInFlight) {
+        if (batchSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("batchSize和maxInFlight必须大于0");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 按CPU核数创建固定线程池
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService newExecutor() {
+        return newExecutor(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 创建固定线程数的线程池，摘要计算是CPU密集型任务，线程数超过核数不会更快；
+     * Digests的MessageDigest和FileDigests的读缓冲区按线程复用，线程长期存活才能复用，
+     * 不使用每任务一个线程（包括虚拟线程）的线程池
+     *
+     * @param threads 线程数
+     * @return ExecutorService
+     */
+    public static ExecutorService newExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * 批量计算字符串的十六进制摘要
+     *
+     * @param sources   字符串集合
+     * @param algorithm 摘要算法
+     * @param charset   字符集
+     * @param upperCase 是否大写
+     * @return 与输入顺序一致的结果
+     */
+    public List<DigestResult<String>> hashStrings(Collection<String> sources, DigestAlgorithm algorithm,
+            Charset charset, boolean upperCase) {
+        return hashAll(sources, src -> Digests.hex(algorithm, src, charset, upperCase));
+    }
+
+    /**
+     * 批量计算文件的小写十六进制摘要
+     *
+     * @param paths     文件路径集合
+     * @param algorithm 摘要算法
+     * @return 与输入顺序一致的结果
+     */
+    public List<DigestResult<Path>> hashFiles(Collection<Path> paths, DigestAlgorithm algorithm) {
+        return hashAll(paths, path -> FileDigests.hex(path, algorithm));
+    }
+
+    /**
+     * 批量计算摘要，全部完成后返回
+     *
+     * @param inputs   输入集合
+     * @param function 单个元素的摘要计算
+     * @return 与输入顺序一致的结果
+     */
+    public <T> List<DigestResult<T>> hashAll(Collection<T> inputs, DigestFunction<T> function) {
+        List<DigestResult<T>> results = new ArrayList<DigestResult<T>>(inputs.size());
+        Iterator<DigestResult<T>> iterator = new ResultIterator<T>(inputs.iterator(), function);
+        while (iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
+    /**
+     * 批量计算摘要，以流的方式按输入顺序逐个返回结果，流被消费时才继续提交后续切片
+     *
+     * @param inputs   输入，可以是只能遍历一次的迭代器
+     * @param function 单个元素的摘要计算
+     * @return Stream
+     */
+    public <T> Stream<DigestResult<T>> stream(Iterator<T> inputs, DigestFunction<T> function) {
+        ResultIterator<T> iterator = new ResultIterator<T>(inputs, function);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false).onClose(iterator::cancel);
+    }
+
+    private static <T> List<DigestResult<T>> run(List<T> batch, DigestFunction<T> function) {
+        List<DigestResult<T>> results = new ArrayList<DigestResult<T>>(batch.size());
+        for (T input : batch) {
+            try {
+                results.add(DigestResult.success(input, function.apply(input)));
+            } catch (Exception e) {
+                results.add(DigestResult.failure(input, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 单个元素的摘要计算
+     */
+    @FunctionalInterface public interface DigestFunction<T> {
+
+        String apply(T input) throws Exception;
+    }
+
+    /**
+     * 保持最多maxInFlight个切片在途，按提交顺序取出结果
+     */
+    private final class ResultIterator<T> implements Iterator<DigestResult<T>> {
+
+        private final Iterator<T> inputs;
+
+        private final DigestFunction<T> function;
+
+        private final ArrayDeque<Future<List<DigestResult<T>>>> pending = new ArrayDeque<>();
+
+        private Iterator<DigestResult<T>> current;
+
+        private ResultIterator(Iterator<T> inputs, DigestFunction<T> function) {
+            this.inputs = inputs;
+            this.function = function;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                fill();
+                Future<List<DigestResult<T>>> head = pending.poll();
+                if (head == null) {
+                    return false;
+                }
+                current = await(head).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public DigestResult<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void fill() {
+            while (pending.size() < maxInFlight && inputs.hasNext()) {
+                List<T> batch = new ArrayList<T>(batchSize);
+                while (batch.size() < batchSize && inputs.hasNext()) {
+                    batch.add(inputs.next());
+                }
+                pending.add(executor.submit(() -> run(batch, function)));
+            }
+        }
+
+        private List<DigestResult<T>> await(Future<List<DigestResult<T>>> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("批量摘要计算被中断");
+            } catch (ExecutionException e) {
+                // run已经捕获了单个元素的异常，这里只会是Error等致命错误
+                cancel();
+                throw new IllegalStateException("批量摘要计算失败", e.getCause());
+            }
+        }
+
+        private void cancel() {
+            Future<List<DigestResult<T>>> future;
+            while ((future = pending.poll()) != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package top.mstudy.utils.digest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * @author machao
+ * @description: 支持的摘要算法，每个线程持有各自的MessageDigest实例，取出时已重置，可直接使用
+ * @date 2026-10-18
+ */
+public enum DigestAlgorithm {
+
+    MD5("MD5"),
+
+    SHA1("SHA-1"),
+
+    SHA256("SHA-256");
+
+    private final String name;
+
+    private final ThreadLocal<MessageDigest> digestLocal;
+
+    DigestAlgorithm(String name) {
+        this.name = name;
+        this.digestLocal = ThreadLocal.withInitial(this::newDigest);
+    }
+
+    /**
+     * JCA中的算法名称
+     *
+     * @return String
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 当前线程的摘要实例，不可跨线程传递，也不可在摘要计算完成前再次获取
+     *
+     * @return MessageDigest
+     */
+    public MessageDigest get() {
+        MessageDigest digest = digestLocal.get();
+        digest.reset();
+        return digest;
+    }
+
+    /**
+     * 新建一个独立的摘要实例，适合需要跨线程或长时间持有的场景
+     *
+     * @return MessageDigest
+     */
+    public MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(name);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持的摘要算法：" + name, e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package top.mstudy.utils.digest;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author machao
+ * @description: 批量摘要中单个元素的结果，成功时hex为摘要，失败时error为失败原因
+ * @date 2026-10-18
+ */
+@Getter @ToString public final class DigestResult<T> {
+
+    /**
+     * 原始输入
+     */
+    private final T input;
+
+    /**
+     * 十六进制摘要，失败时为null
+     */
+    private final String hex;
+
+    /**
+     * 失败原因，成功时为null
+     */
+    private final Throwable error;
+
+    private DigestResult(T input, String hex, Throwable error) {
+        this.input = input;
+        this.hex = hex;
+        this.error = error;
+    }
+
+    static <T> DigestResult<T> success(T input, String hex) {
+        return new DigestResult<T>(input, hex, null);
+    }
+
+    static <T> DigestResult<T> failure(T input, Throwable error) {
+        return new DigestResult<T>(input, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,94 @@
+package top.mstudy.utils.digest;
+
+import top.mstudy.utils.codec.Hex;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * @author machao
+ * @description: 线程安全的摘要计算入口，支持MD5、SHA-1、SHA-256
+ * 每个线程复用各自的MessageDigest实例（见DigestAlgorithm），不再共享同一个静态实例；
+ * 十六进制结果由codec.Hex查表输出
+ * @date 2026-10-18
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param algorithm 摘要算法
+     * @param data      原始数据
+     * @return byte[]
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, byte[] data) {
+        return algorithm.get().digest(data);
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param algorithm 摘要算法
+     * @param data      原始数据
+     * @param offset    起始位置
+     * @param length    长度
+     * @return byte[]
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, byte[] data, int offset, int length) {
+        MessageDigest digest = algorithm.get();
+        digest.update(data, offset, length);
+        return digest.digest();
+    }
+
+    /**
+     * 计算字符串的摘要
+     *
+     * @param algorithm 摘要算法
+     * @param src       字符串
+     * @param charset   字符集
+     * @return byte[]
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, String src, Charset charset) {
+        return digest(algorithm, src.getBytes(charset));
+    }
+
+    /**
+     * 计算摘要并输出小写十六进制
+     *
+     * @param algorithm 摘要算法
+     * @param data      原始数据
+     * @return String
+     */
+    public static String hex(DigestAlgorithm algorithm, byte[] data) {
+        return Hex.encode(digest(algorithm, data), false);
+    }
+
+    /**
+     * 计算字符串的摘要并输出十六进制
+     *
+     * @param algorithm 摘要算法
+     * @param src       字符串
+     * @param charset   字符集
+     * @param upperCase 是否大写
+     * @return String
+     */
+    public static String hex(DigestAlgorithm algorithm, String src, Charset charset, boolean upperCase) {
+        return Hex.encode(digest(algorithm, src, charset), upperCase);
+    }
+
+    public static String md5Hex(String src) {
+        return hex(DigestAlgorithm.MD5, src, StandardCharsets.UTF_8, false);
+    }
+
+    public static String sha1Hex(String src) {
+        return hex(DigestAlgorithm.SHA1, src, StandardCharsets.UTF_8, false);
+    }
+
+    public static String sha256Hex(String src) {
+        return hex(DigestAlgorithm.SHA256, src, StandardCharsets.UTF_8, false);
+    }
+}
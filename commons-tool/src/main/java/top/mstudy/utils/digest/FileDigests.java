@@ -0,0 +1,176 @@
+package top.mstudy.utils.digest;
+
+import top.mstudy.utils.codec.Hex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.stream.IntStream;
+
+/**
+ * @author machao
+ * @description: 基于FileChannel的文件摘要计算
+ * 整个文件的摘要用每个线程复用的直接缓冲区按位置读取，不做内存映射，通道总会被关闭；
+ * treeDigest把文件切成定长分块，在fork-join公共池上并行计算各分块摘要，再对分块摘要依次拼接计算一次摘要，
+ * 结果与整个文件的摘要不同，只适合对比同一算法、同一分块大小下的结果，如校验多GB的上传文件和备份；
+ * 达到MAP_THRESHOLD的分块按内存映射读取，JDK没有公开的解除映射方法，映射区要等MappedByteBuffer被GC回收后才释放，
+ * 同一时刻占用的映射区不超过 并行线程数 × 分块大小，分块大小不宜设得过大
+ * @date 2026-10-18
+ */
+public final class FileDigests {
+
+    /**
+     * treeDigest中达到该大小的分块使用内存映射读取
+     */
+    public static final long MAP_THRESHOLD = 1L << 20;
+
+    /**
+     * treeDigest默认的分块大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private static final ThreadLocal<ByteBuffer> bufferLocal = ThreadLocal
+            .withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private FileDigests() {
+    }
+
+    /**
+     * 计算文件摘要
+     *
+     * @param file      文件
+     * @param algorithm 摘要算法
+     * @return byte[]
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] digest(File file, DigestAlgorithm algorithm) throws IOException {
+        return digest(file.toPath(), algorithm);
+    }
+
+    /**
+     * 计算文件摘要
+     *
+     * @param path      文件路径
+     * @param algorithm 摘要算法
+     * @return byte[]
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] digest(Path path, DigestAlgorithm algorithm) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = algorithm.get();
+            read(digest, channel, 0, channel.size());
+            return digest.digest();
+        }
+    }
+
+    /**
+     * 计算文件摘要并输出小写十六进制
+     *
+     * @param path      文件路径
+     * @param algorithm 摘要算法
+     * @return String
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static String hex(Path path, DigestAlgorithm algorithm) throws IOException {
+        return Hex.encode(digest(path, algorithm));
+    }
+
+    /**
+     * 并行分块计算文件的树形摘要，分块大小为DEFAULT_CHUNK_SIZE
+     *
+     * @param path      文件路径
+     * @param algorithm 摘要算法
+     * @return byte[]
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] treeDigest(Path path, DigestAlgorithm algorithm) throws IOException {
+        return treeDigest(path, algorithm, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 并行分块计算文件的树形摘要：digest(digest(chunk0) || digest(chunk1) || ...)，
+     * 不超过一个分块的文件直接返回整个文件的摘要
+     *
+     * @param path      文件路径
+     * @param algorithm 摘要算法
+     * @param chunkSize 分块大小
+     * @return byte[]
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] treeDigest(Path path, DigestAlgorithm algorithm, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0：" + chunkSize);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= chunkSize) {
+                MessageDigest digest = algorithm.get();
+                read(digest, channel, 0, size);
+                return digest.digest();
+            }
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            byte[][] parts = new byte[chunks][];
+            try {
+                IntStream.range(0, chunks).parallel().forEach(i -> {
+                    long from = (long) i * chunkSize;
+                    MessageDigest digest = algorithm.get();
+                    try {
+                        update(digest, channel, from, Math.min(chunkSize, size - from));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    parts[i] = digest.digest();
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            MessageDigest digest = algorithm.get();
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return digest.digest();
+        }
+    }
+
+    /**
+     * 将通道中的一个分块交给摘要，分块不超过int范围，达到MAP_THRESHOLD时整块映射
+     */
+    private static void update(MessageDigest digest, FileChannel channel, long position, long length)
+            throws IOException {
+        if (length >= MAP_THRESHOLD) {
+            digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+        } else {
+            read(digest, channel, position, length);
+        }
+    }
+
+    /**
+     * 将通道中[position, position + length)的内容交给摘要，只使用按位置读取，可被多个线程同时调用
+     */
+    private static void read(MessageDigest digest, FileChannel channel, long position, long length)
+            throws IOException {
+        long end = position + length;
+        ByteBuffer buffer = bufferLocal.get();
+        long pos = position;
+        while (pos < end) {
+            buffer.clear();
+            if (end - pos < buffer.capacity()) {
+                buffer.limit((int) (end - pos));
+            }
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                break;
+            }
+            pos += read;
+            buffer.flip();
+            digest.update(buffer);
+        }
+    }
+}
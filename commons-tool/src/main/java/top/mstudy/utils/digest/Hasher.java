@@ -0,0 +1,188 @@
+package top.mstudy.utils.digest;
+
+import top.mstudy.utils.codec.Hex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/**
+ * @author machao
+ * @description: 增量摘要计算器，可以分多次喂入byte[]片段、ByteBuffer、InputStream和按字符集逐段编码的CharSequence，
+ * 不需要先拼出完整的字节数组；tee方法包装输入输出流，在请求体、响应体被读取或写出的同时计算摘要。
+ * 每个实例持有独立的MessageDigest，可以跨线程传递，但不能被多个线程同时使用
+ * @date 2026-10-18
+ */
+public class Hasher {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DigestAlgorithm algorithm;
+
+    private final MessageDigest digest;
+
+    private ByteBuffer encodeBuffer;
+
+    private byte[] readBuffer;
+
+    public Hasher(DigestAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        this.digest = algorithm.newDigest();
+    }
+
+    public DigestAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Hasher update(byte[] data) {
+        digest.update(data);
+        return this;
+    }
+
+    public Hasher update(byte[] data, int offset, int length) {
+        digest.update(data, offset, length);
+        return this;
+    }
+
+    /**
+     * 喂入ByteBuffer中position到limit之间的内容，结束后position移动到limit
+     *
+     * @param buffer 字节缓冲区
+     * @return Hasher
+     */
+    public Hasher update(ByteBuffer buffer) {
+        digest.update(buffer);
+        return this;
+    }
+
+    /**
+     * 按字符集逐段编码后喂入，与对String.getBytes(charset)的结果计算摘要一致
+     *
+     * @param chars   字符序列
+     * @param charset 字符集
+     * @return Hasher
+     */
+    public Hasher update(CharSequence chars, Charset charset) {
+        CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        if (encodeBuffer == null) {
+            encodeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+        CharBuffer in = CharBuffer.wrap(chars);
+        ByteBuffer out = encodeBuffer;
+        CoderResult result;
+        do {
+            out.clear();
+            result = encoder.encode(in, out, true);
+            drain(out);
+        } while (result.isOverflow());
+        do {
+            out.clear();
+            result = encoder.flush(out);
+            drain(out);
+        } while (result.isOverflow());
+        return this;
+    }
+
+    /**
+     * 读取输入流直到结束并喂入，不关闭输入流
+     *
+     * @param in 输入流
+     * @return 读取的字节数
+     * @throws IOException 读取失败时抛出
+     */
+    public long update(InputStream in) throws IOException {
+        byte[] buffer = readBuffer();
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * 把输入流复制到输出流，同时对复制的内容计算摘要，不关闭两个流
+     *
+     * @param in  输入流
+     * @param out 输出流
+     * @return 复制的字节数
+     * @throws IOException 读写失败时抛出
+     */
+    public long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = readBuffer();
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * 包装输入流，从返回的流中读出的内容都会计入摘要
+     *
+     * @param in 输入流
+     * @return InputStream
+     */
+    public InputStream tee(InputStream in) {
+        return new DigestInputStream(in, digest);
+    }
+
+    /**
+     * 包装输出流，写入返回的流的内容都会计入摘要
+     *
+     * @param out 输出流
+     * @return OutputStream
+     */
+    public OutputStream tee(OutputStream out) {
+        return new DigestOutputStream(out, digest);
+    }
+
+    /**
+     * 完成计算并返回摘要，之后实例被重置，可以继续计算下一个摘要
+     *
+     * @return byte[]
+     */
+    public byte[] digest() {
+        return digest.digest();
+    }
+
+    /**
+     * 完成计算并返回小写十六进制摘要，之后实例被重置
+     *
+     * @return String
+     */
+    public String hex() {
+        return Hex.encode(digest.digest());
+    }
+
+    public Hasher reset() {
+        digest.reset();
+        return this;
+    }
+
+    private void drain(ByteBuffer out) {
+        out.flip();
+        digest.update(out.array(), out.arrayOffset() + out.position(), out.remaining());
+    }
+
+    private byte[] readBuffer() {
+        if (readBuffer == null) {
+            readBuffer = new byte[BUFFER_SIZE];
+        }
+        return readBuffer;
+    }
+}
@@ -0,0 +1,274 @@
+package top.mstudy.utils.qrcode;
+
+import top.mstudy.utils.digest.DigestAlgorithm;
+import top.mstudy.utils.digest.Digests;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author machao
+ * @description: 二维码渲染结果缓存，按渲染参数缓存编码后的PNG字节和对应的ETag
+ * 容量按缓存内容的总字节数限制，超出时淘汰最久未访问的条目；条目写入超过ttl后失效；
+ * 渲染在锁外进行，同一个键并发未命中时可能重复渲染，结果相同，后写入的覆盖先写入的
+ * @date 2026-10-18
+ */
+public class QrCodeCache {
+
+    /**
+     * 默认的总字节数上限
+     */
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+    /**
+     * 默认的存活时间，单位毫秒
+     */
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * 每个条目除PNG字节外的估算开销
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+
+    private final long ttl;
+
+    private final LinkedHashMap<QrCodeKey, Entry> entries = new LinkedHashMap<QrCodeKey, Entry>(64, 0.75f, true);
+
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public QrCodeCache() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_TTL);
+    }
+
+    /**
+     * @param maxBytes 缓存内容的总字节数上限
+     * @param ttl      条目的存活时间，单位毫秒
+     */
+    public QrCodeCache(long maxBytes, long ttl) {
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 获取缓存的渲染结果，未命中或已过期时调用loader渲染并放入缓存
+     *
+     * @param key    渲染参数
+     * @param loader 渲染方法，返回PNG字节
+     * @return Entry
+     * @throws Exception loader抛出的异常
+     */
+    public Entry get(QrCodeKey key, Loader loader) throws Exception {
+        Entry entry = getIfPresent(key);
+        if (entry != null) {
+            return entry;
+        }
+        byte[] bytes = loader.load(key);
+        entry = new Entry(bytes, "\"" + Digests.hex(DigestAlgorithm.MD5, bytes) + "\"",
+                System.currentTimeMillis() + ttl, weigh(key, bytes));
+        put(key, entry);
+        return entry;
+    }
+
+    /**
+     * 获取缓存的渲染结果，不存在或已过期时返回null，同时计入命中或未命中次数
+     *
+     * @param key 渲染参数
+     * @return Entry
+     */
+    public Entry getIfPresent(QrCodeKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return entry;
+            }
+            if (entry != null) {
+                remove(key, entry);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 命中率，尚无访问时返回0
+     *
+     * @return double
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 当前缓存内容的估算总字节数
+     *
+     * @return long
+     */
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private void put(QrCodeKey key, Entry entry) {
+        if (entry.weight > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry prev = entries.put(key, entry);
+            if (prev != null) {
+                totalBytes -= prev.weight;
+            }
+            totalBytes += entry.weight;
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<QrCodeKey, Entry>> it = entries.entrySet().iterator();
+            // 按访问顺序从最久未访问的开始淘汰，顺带清理遇到的过期条目
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<QrCodeKey, Entry> eldest = it.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                it.remove();
+                totalBytes -= eldest.getValue().weight;
+                if (eldest.getValue().expiresAt > now) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private void remove(QrCodeKey key, Entry entry) {
+        entries.remove(key);
+        totalBytes -= entry.weight;
+    }
+
+    private static long weigh(QrCodeKey key, byte[] bytes) {
+        return bytes.length + ((long) key.getContents().length() << 1) + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * 渲染方法
+     */
+    @FunctionalInterface public interface Loader {
+
+        byte[] load(QrCodeKey key) throws Exception;
+    }
+
+    /**
+     * 缓存的渲染结果
+     */
+    public static final class Entry {
+
+        private final byte[] bytes;
+
+        private final String etag;
+
+        private final long expiresAt;
+
+        private final long weight;
+
+        private Entry(byte[] bytes, String etag, long expiresAt, long weight) {
+            this.bytes = bytes;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        /**
+         * PNG字节，调用方不可修改
+         *
+         * @return byte[]
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * 带引号的强ETag
+         *
+         * @return String
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * 按If-None-Match的弱比较判断是否匹配，支持*、逗号分隔的多个实体标签和W/前缀
+         *
+         * @param ifNoneMatch If-None-Match请求头，可以为null
+         * @return boolean
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            int length = ifNoneMatch.length();
+            int i = 0;
+            while (i < length) {
+                char c = ifNoneMatch.charAt(i);
+                if (c == ' ' || c == '\t' || c == ',') {
+                    i++;
+                } else if (c == '*') {
+                    return true;
+                } else {
+                    if (ifNoneMatch.startsWith("W/", i)) {
+                        i += 2;
+                    }
+                    if (i >= length || ifNoneMatch.charAt(i) != '"') {
+                        // 格式错误的标签，跳到下一个逗号
+                        int comma = ifNoneMatch.indexOf(',', i);
+                        i = comma < 0 ? length : comma + 1;
+                        continue;
+                    }
+                    int end = ifNoneMatch.indexOf('"', i + 1);
+                    if (end < 0) {
+                        return false;
+                    }
+                    if (end + 1 - i == etag.length() && ifNoneMatch.startsWith(etag, i)) {
+                        return true;
+                    }
+                    i = end + 1;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author machao
+ * @description: 二维码渲染参数，作为渲染缓存的键
+ * @date 2026-10-18
+ */
+@Getter @EqualsAndHashCode @ToString public final class QrCodeKey {
+
+    /**
+     * 二维码内容
+     */
+    private final String contents;
+
+    private final int width;
+
+    private final int height;
+
+    /**
+     * 容错级别
+     */
+    private final ErrorCorrectionLevel level;
+
+    /**
+     * 空白区域宽度，单位为模块
+     */
+    private final int margin;
+
+    public QrCodeKey(String contents, int width, int height, ErrorCorrectionLevel level, int margin) {
+        this.contents = contents;
+        this.width = width;
+        this.height = height;
+        this.level = level;
+        this.margin = margin;
+    }
+}
@@ -0,0 +1,104 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * @author machao
+ * @description: 把二维码矩阵按指定格式流式写入输出流或通道，写出失败时不抛出异常，由返回的结果携带失败原因；
+ * 不关闭调用方传入的输出流或通道
+ * @date 2026-10-18
+ */
+public final class QrCodeWriter {
+
+    private QrCodeWriter() {
+    }
+
+    /**
+     * 写入输出流
+     *
+     * @param matrix 二维码矩阵
+     * @param format 输出格式
+     * @param out    输出流
+     * @return QrWriteResult
+     */
+    public static QrWriteResult write(BitMatrix matrix, QrFormat format, OutputStream out) {
+        CountingOutputStream counting = new CountingOutputStream(out);
+        try {
+            if (format == QrFormat.PNG) {
+                QrImages.writePng(matrix, counting);
+            } else {
+                QrImages.writeSvg(matrix, counting);
+            }
+            counting.flush();
+            return QrWriteResult.success(format, counting.count);
+        } catch (IOException | RuntimeException e) {
+            return QrWriteResult.failure(format, counting.count, e);
+        }
+    }
+
+    /**
+     * 写入通道
+     *
+     * @param matrix  二维码矩阵
+     * @param format  输出格式
+     * @param channel 输出通道
+     * @return QrWriteResult
+     */
+    public static QrWriteResult write(BitMatrix matrix, QrFormat format, WritableByteChannel channel) {
+        // Channels.newOutputStream的close会关闭通道，这里只写入不关闭
+        return write(matrix, format, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * 把已编码的字节写入输出流
+     *
+     * @param bytes  已编码的字节
+     * @param format 字节对应的格式
+     * @param out    输出流
+     * @return QrWriteResult
+     */
+    public static QrWriteResult write(byte[] bytes, QrFormat format, OutputStream out) {
+        try {
+            out.write(bytes);
+            out.flush();
+            return QrWriteResult.success(format, bytes.length);
+        } catch (IOException e) {
+            return QrWriteResult.failure(format, 0, e);
+        }
+    }
+
+    /**
+     * 统计写出字节数，不传递close
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package top.mstudy.utils.qrcode;
+
+/**
+ * @author machao
+ * @description: 二维码输出格式
+ * @date 2026-10-18
+ */
+public enum QrFormat {
+
+    /**
+     * 1位灰度PNG
+     */
+    PNG("image/png"),
+
+    /**
+     * 矩形路径组成的SVG
+     */
+    SVG("image/svg+xml");
+
+    private final String contentType;
+
+    QrFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,203 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * @author machao
+ * @description: 不经过BufferedImage和ImageIO，直接由BitMatrix生成PNG或SVG
+ * PNG为1位灰度图，每行打包数据（见QrRasterizer）前加无滤波标记后逐行压缩，按定长IDAT数据块流式写出，
+ * 压缩器每个线程复用一个；
+ * SVG把相同的连续行合并为一个条带，条带内连续的黑色像素合并为一个矩形路径
+ * @date 2026-10-18
+ */
+public final class QrImages {
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+    private static final byte[] IHDR = { 'I', 'H', 'D', 'R' };
+
+    private static final byte[] IDAT = { 'I', 'D', 'A', 'T' };
+
+    private static final byte[] IEND = { 'I', 'E', 'N', 'D' };
+
+    /**
+     * 单个IDAT数据块的最大长度
+     */
+    private static final int IDAT_SIZE = 32 << 10;
+
+    /**
+     * 每个线程复用的压缩器，用完后（包括写出失败时）在finally中reset，不调用end
+     */
+    private static final ThreadLocal<Deflater> deflaterLocal = ThreadLocal
+            .withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+    private QrImages() {
+    }
+
+    /**
+     * 生成PNG字节
+     *
+     * @param matrix 二维码矩阵
+     * @return byte[]
+     * @throws IOException 不会发生，写入内存时由签名要求声明
+     */
+    public static byte[] toPng(BitMatrix matrix) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        writePng(matrix, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 生成PNG并写入输出流，不关闭输出流；压缩结果每满IDAT_SIZE字节写出一个IDAT数据块，不在内存中保留整幅图像
+     *
+     * @param matrix 二维码矩阵
+     * @param out    输出流
+     * @throws IOException 写入失败时抛出
+     */
+    public static void writePng(BitMatrix matrix, OutputStream out) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        byte[] chunk = new byte[IDAT_SIZE];
+        DataOutputStream data = new DataOutputStream(out);
+
+        data.write(PNG_SIGNATURE);
+        ByteBuffer ihdr = ByteBuffer.wrap(chunk, 0, 13);
+        ihdr.putInt(width).putInt(height);
+        // 位深1，灰度，deflate压缩，标准滤波方法，无隔行扫描
+        ihdr.put(new byte[] { 1, 0, 0, 0, 0 });
+        writeChunk(data, IHDR, chunk, 13);
+
+        Deflater deflater = deflaterLocal.get();
+        try {
+            byte[] line = new byte[QrRasterizer.rowBytes(width) + 1];
+            BitArray row = new BitArray(width);
+            int filled = 0;
+            for (int y = 0; y < height; y++) {
+                row = QrRasterizer.packRow(matrix, y, row, line, 1);
+                deflater.setInput(line);
+                while (!deflater.needsInput()) {
+                    filled += deflater.deflate(chunk, filled, IDAT_SIZE - filled);
+                    if (filled == IDAT_SIZE) {
+                        writeChunk(data, IDAT, chunk, filled);
+                        filled = 0;
+                    }
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                filled += deflater.deflate(chunk, filled, IDAT_SIZE - filled);
+                if (filled == IDAT_SIZE) {
+                    writeChunk(data, IDAT, chunk, filled);
+                    filled = 0;
+                }
+            }
+            if (filled > 0) {
+                writeChunk(data, IDAT, chunk, filled);
+            }
+        } finally {
+            // 写出失败时压缩器里还留着未输出的数据，不reset会污染本线程的下一张图
+            deflater.reset();
+        }
+        writeChunk(data, IEND, chunk, 0);
+        data.flush();
+    }
+
+    /**
+     * 生成SVG文本
+     *
+     * @param matrix 二维码矩阵
+     * @return String
+     */
+    public static String toSvg(BitMatrix matrix) {
+        StringBuilder svg = new StringBuilder(4096);
+        try {
+            writeSvg(matrix, svg);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return svg.toString();
+    }
+
+    /**
+     * 生成SVG并追加到out
+     *
+     * @param matrix 二维码矩阵
+     * @param out    输出
+     * @throws IOException 写入失败时抛出
+     */
+    public static void writeSvg(BitMatrix matrix, Appendable out) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(String.valueOf(width))
+                .append("\" height=\"").append(String.valueOf(height)).append("\" viewBox=\"0 0 ")
+                .append(String.valueOf(width)).append(' ').append(String.valueOf(height))
+                .append("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>")
+                .append("<path fill=\"#000\" d=\"");
+        BitArray row = new BitArray(width);
+        BitArray next = new BitArray(width);
+        int y = 0;
+        while (y < height) {
+            row = matrix.getRow(y, row);
+            int bottom = y + 1;
+            while (bottom < height && (next = matrix.getRow(bottom, next)).equals(row)) {
+                bottom++;
+            }
+            int x = row.getNextSet(0);
+            while (x < width) {
+                int end = row.getNextUnset(x);
+                out.append('M').append(String.valueOf(x)).append(' ').append(String.valueOf(y))
+                        .append('h').append(String.valueOf(end - x)).append('v').append(String.valueOf(bottom - y))
+                        .append('h').append(String.valueOf(x - end)).append('z');
+                x = end < width ? row.getNextSet(end) : width;
+            }
+            y = bottom;
+        }
+        out.append("\"/></svg>");
+    }
+
+    /**
+     * 生成SVG并以UTF-8写入输出流，不关闭输出流
+     *
+     * @param matrix 二维码矩阵
+     * @param out    输出流
+     * @throws IOException 写入失败时抛出
+     */
+    public static void writeSvg(BitMatrix matrix, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        writeSvg(matrix, writer);
+        writer.flush();
+    }
+
+    /**
+     * SVG文本的UTF-8字节
+     *
+     * @param matrix 二维码矩阵
+     * @return byte[]
+     */
+    public static byte[] toSvgBytes(BitMatrix matrix) {
+        return toSvg(matrix).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeChunk(DataOutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(type);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+}
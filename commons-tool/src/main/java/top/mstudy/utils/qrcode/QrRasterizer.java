@@ -0,0 +1,95 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
+/**
+ * @author machao
+ * @description: BitMatrix按行打包为每像素1位的数据，高位在前、1为白色、0为黑色，
+ * 与TYPE_BYTE_BINARY图像的默认调色板和PNG 1位灰度的取值一致，可以直接写入栅格或PNG数据块；
+ * 每行从BitArray的int字中按字节取出后查表完成位序反转和取反，不逐像素调用setRGB
+ * @date 2026-10-18
+ */
+public final class QrRasterizer {
+
+    /**
+     * 下标为BitArray中的一个字节（低位在前、1为黑色），值为位序反转并取反后的字节
+     */
+    private static final byte[] PACK_TABLE = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            PACK_TABLE[i] = (byte) ~(Integer.reverse(i) >>> 24);
+        }
+    }
+
+    private QrRasterizer() {
+    }
+
+    /**
+     * 每行打包后的字节数
+     *
+     * @param width 像素宽度
+     * @return int
+     */
+    public static int rowBytes(int width) {
+        return (width + 7) >>> 3;
+    }
+
+    /**
+     * 打包所有行
+     *
+     * @param matrix 二维码矩阵
+     * @return 按行连续存放的打包数据，每行rowBytes(width)字节
+     */
+    public static byte[] packRows(BitMatrix matrix) {
+        int stride = rowBytes(matrix.getWidth());
+        byte[] out = new byte[stride * matrix.getHeight()];
+        BitArray row = new BitArray(matrix.getWidth());
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            row = packRow(matrix, y, row, out, y * stride);
+        }
+        return out;
+    }
+
+    /**
+     * 打包一行，行尾不足一个字节的位填充为白色
+     *
+     * @param matrix 二维码矩阵
+     * @param y      行号
+     * @param row    可复用的行缓冲，可以为null
+     * @param out    输出数组
+     * @param offset 输出起始位置
+     * @return 本次使用的行缓冲，供下一行复用
+     */
+    public static BitArray packRow(BitMatrix matrix, int y, BitArray row, byte[] out, int offset) {
+        row = matrix.getRow(y, row);
+        int[] words = row.getBitArray();
+        int count = rowBytes(matrix.getWidth());
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = PACK_TABLE[words[i >>> 2] >>> ((i & 3) << 3) & 0xff];
+        }
+        return row;
+    }
+
+    /**
+     * 转为TYPE_BYTE_BINARY图像，直接写入栅格缓冲区
+     *
+     * @param matrix 二维码矩阵
+     * @return BufferedImage
+     */
+    public static BufferedImage toBinaryImage(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        BufferedImage image = new BufferedImage(width, matrix.getHeight(), BufferedImage.TYPE_BYTE_BINARY);
+        byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int stride = rowBytes(width);
+        BitArray row = new BitArray(width);
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            row = packRow(matrix, y, row, data, y * stride);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,42 @@
+package top.mstudy.utils.qrcode;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author machao
+ * @description: 二维码写出结果，成功时bytes为写出的字节数，失败时error为失败原因，失败前已写出的字节数仍计入bytes
+ * @date 2026-10-18
+ */
+@Getter @ToString public final class QrWriteResult {
+
+    private final QrFormat format;
+
+    /**
+     * 写出的字节数，304等未写出内容时为0
+     */
+    private final long bytes;
+
+    /**
+     * 失败原因，成功时为null
+     */
+    private final Throwable error;
+
+    private QrWriteResult(QrFormat format, long bytes, Throwable error) {
+        this.format = format;
+        this.bytes = bytes;
+        this.error = error;
+    }
+
+    public static QrWriteResult success(QrFormat format, long bytes) {
+        return new QrWriteResult(format, bytes, null);
+    }
+
+    public static QrWriteResult failure(QrFormat format, long bytes, Throwable error) {
+        return new QrWriteResult(format, bytes, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
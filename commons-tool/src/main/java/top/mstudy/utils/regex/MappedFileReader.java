@@ -0,0 +1,87 @@
+package top.mstudy.utils.regex;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author machao
+ * @description: 按区段内存映射文件并增量解码的Reader，文件内容不整体复制到堆上；
+ * 区段末尾不完整的多字节字符留到下一个区段开头重新解码，非法字节替换为替换字符
+ * @date 2026-10-18
+ */
+final class MappedFileReader extends Reader {
+
+    /**
+     * 单次内存映射的最大长度
+     */
+    private static final long MAP_REGION = 256L << 20;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final CharsetDecoder decoder;
+
+    private long regionStart;
+
+    private ByteBuffer region;
+
+    private boolean flushed;
+
+    MappedFileReader(Path path, Charset charset) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            this.region = map(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (out.position() == off && !flushed) {
+            boolean last = regionStart + region.limit() >= size;
+            CoderResult result = decoder.decode(region, out, last);
+            if (result.isOverflow()) {
+                break;
+            }
+            if (last) {
+                if (decoder.flush(out).isOverflow()) {
+                    break;
+                }
+                flushed = true;
+            } else {
+                region = map(regionStart + region.position());
+            }
+        }
+        int n = out.position() - off;
+        return n == 0 && flushed ? -1 : n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer map(long from) throws IOException {
+        regionStart = from;
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(MAP_REGION, size - from));
+    }
+}
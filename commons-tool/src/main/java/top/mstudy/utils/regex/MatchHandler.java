@@ -0,0 +1,20 @@
+package top.mstudy.utils.regex;
+
+import java.util.regex.MatchResult;
+
+/**
+ * @author machao
+ * @description: RegexScanner逐个匹配的回调
+ * @date 2026-10-18
+ */
+@FunctionalInterface public interface MatchHandler {
+
+    /**
+     * 处理一个匹配
+     *
+     * @param match  当前匹配，只在回调内有效，其start和end是相对窗口的位置
+     * @param offset 匹配起点在整个输入中的字符偏移
+     * @return 返回false时停止扫描
+     */
+    boolean onMatch(MatchResult match, long offset);
+}
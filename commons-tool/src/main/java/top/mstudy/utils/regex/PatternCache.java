@@ -0,0 +1,261 @@
+package top.mstudy.utils.regex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * @author machao
+ * @description: 编译后的正则表达式缓存，按表达式和标志缓存Pattern，Pattern本身线程安全可以共享
+ * 条目数超过上限时淘汰最久未访问的条目，访问时间按毫秒粒度记录，淘汰顺序是近似的LRU；
+ * 通过register预先注册的表达式常驻缓存，不会被淘汰；
+ * 查找不加锁，只有淘汰时加锁，同一个表达式并发未命中时可能重复编译，只保留先放入的结果
+ * @date 2026-10-18
+ */
+public class PatternCache {
+
+    /**
+     * 默认的条目数上限
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final long TOUCH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final PatternCache SHARED = new PatternCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+
+    /**
+     * 标志为0时以表达式字符串为键，否则以FlagsKey为键，常用的无标志查找不产生临时对象
+     */
+    private final ConcurrentHashMap<Object, Node> patterns = new ConcurrentHashMap<>();
+
+    /**
+     * 注册的表达式数，比较条目数上限时扣除
+     */
+    private final AtomicInteger pinned = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public PatternCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize 条目数上限，不含预先注册的表达式
+     */
+    public PatternCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * RegexUtils和StringUtils共用的缓存
+     *
+     * @return PatternCache
+     */
+    public static PatternCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 获取编译后的表达式，未命中时编译并放入缓存
+     *
+     * @param regex 正则表达式
+     * @return Pattern
+     * @throws java.util.regex.PatternSyntaxException 表达式语法错误时抛出，错误的表达式不会放入缓存
+     */
+    public Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+    /**
+     * 获取编译后的表达式，未命中时编译并放入缓存
+     *
+     * @param regex 正则表达式
+     * @param flags Pattern.compile的标志
+     * @return Pattern
+     */
+    public Pattern get(String regex, int flags) {
+        Object key = key(regex, flags);
+        Node node = patterns.get(key);
+        if (node != null) {
+            hits.increment();
+            node.touch();
+            return node.pattern;
+        }
+        misses.increment();
+        Node created = new Node(Pattern.compile(regex, flags), false);
+        node = patterns.putIfAbsent(key, created);
+        if (node != null) {
+            node.touch();
+            return node.pattern;
+        }
+        if (overflow()) {
+            evict();
+        }
+        return created.pattern;
+    }
+
+    /**
+     * 预先编译并注册表达式，注册后常驻缓存，适合在启动时注册热点表达式
+     *
+     * @param regex 正则表达式
+     * @return Pattern
+     */
+    public Pattern register(String regex) {
+        return register(regex, 0);
+    }
+
+    /**
+     * 预先编译并注册表达式，注册后常驻缓存
+     *
+     * @param regex 正则表达式
+     * @param flags Pattern.compile的标志
+     * @return Pattern
+     */
+    public Pattern register(String regex, int flags) {
+        Object key = key(regex, flags);
+        Node node = patterns.get(key);
+        Pattern pattern = node != null ? node.pattern : Pattern.compile(regex, flags);
+        Node previous = patterns.put(key, new Node(pattern, true));
+        if (previous == null || !previous.pinned) {
+            pinned.incrementAndGet();
+        }
+        return pattern;
+    }
+
+    /**
+     * 批量注册无标志的表达式
+     *
+     * @param regexes 正则表达式
+     */
+    public void registerAll(String... regexes) {
+        for (String regex : regexes) {
+            register(regex);
+        }
+    }
+
+    /**
+     * 清空缓存中未注册的表达式
+     */
+    public void invalidateAll() {
+        patterns.values().removeIf(node -> !node.pinned);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 命中率，尚无访问时返回0
+     *
+     * @return double
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    private synchronized void evict() {
+        while (overflow()) {
+            Map.Entry<Object, Node> eldest = null;
+            for (Map.Entry<Object, Node> entry : patterns.entrySet()) {
+                Node node = entry.getValue();
+                if (!node.pinned && (eldest == null || node.accessed - eldest.getValue().accessed < 0)) {
+                    eldest = entry;
+                }
+            }
+            // 剩下的都是注册的表达式
+            if (eldest == null) {
+                return;
+            }
+            if (patterns.remove(eldest.getKey(), eldest.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean overflow() {
+        return patterns.size() - pinned.get() > maxSize;
+    }
+
+    private static Object key(String regex, int flags) {
+        return flags == 0 ? regex : new FlagsKey(regex, flags);
+    }
+
+    private static final class Node {
+
+        private final Pattern pattern;
+
+        private final boolean pinned;
+
+        private volatile long accessed = System.nanoTime();
+
+        private Node(Pattern pattern, boolean pinned) {
+            this.pattern = pattern;
+            this.pinned = pinned;
+        }
+
+        /**
+         * 与上次记录相差不足TOUCH_INTERVAL时不写入，减少多个线程频繁访问同一条目时的缓存行争用
+         */
+        private void touch() {
+            long now = System.nanoTime();
+            if (now - accessed > TOUCH_INTERVAL) {
+                accessed = now;
+            }
+        }
+    }
+
+    private static final class FlagsKey {
+
+        private final String regex;
+
+        private final int flags;
+
+        private FlagsKey(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlagsKey)) {
+                return false;
+            }
+            FlagsKey other = (FlagsKey) o;
+            return flags == other.flags && regex.equals(other.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return regex.hashCode() * 31 + flags;
+        }
+    }
+}
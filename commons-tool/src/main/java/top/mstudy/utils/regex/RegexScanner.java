@@ -0,0 +1,295 @@
+package top.mstudy.utils.regex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author machao
+ * @description: 在Reader、CharBuffer或内存映射文件上逐个查找正则匹配，不要求整个输入以String形式存在，也不收集全部匹配
+ * Reader输入使用滑动窗口：窗口内找不到匹配时只保留末尾maxMatchLength个字符后继续读取；
+ * 找到匹配但匹配过程触及窗口末尾（hitEnd或requireEnd）时继续读取后重新查找，保证结果与整体匹配一致，
+ * 除非匹配长度超过maxMatchLength，此时按已读取的内容确定匹配；
+ * 后顾只能看到窗口中保留的字符；
+ * 结果可以逐个查找、以Iterator或Stream惰性获取，或交给回调，随时可以停止，非线程安全
+ * @date 2026-10-18
+ */
+public final class RegexScanner implements Closeable {
+
+    /**
+     * 默认的最大匹配长度
+     */
+    public static final int DEFAULT_MAX_MATCH_LENGTH = 64 << 10;
+
+    private static final int READ_SIZE = 8192;
+
+    private final Matcher matcher;
+
+    private final Reader reader;
+
+    private final int maxMatchLength;
+
+    private char[] buf;
+
+    private int len;
+
+    /**
+     * 下次查找的起点
+     */
+    private int pos;
+
+    /**
+     * buf[0]在整个输入中的偏移
+     */
+    private long base;
+
+    private boolean eof;
+
+    private boolean matched;
+
+    /**
+     * 上一个匹配为空匹配时，下次查找需要从其后一个字符开始
+     */
+    private boolean emptyMatch;
+
+    private RegexScanner(Pattern pattern, CharSequence input) {
+        this.matcher = pattern.matcher(input).useTransparentBounds(true).useAnchoringBounds(false);
+        this.reader = null;
+        this.maxMatchLength = Integer.MAX_VALUE;
+        this.len = input.length();
+        this.eof = true;
+    }
+
+    /**
+     * @param reader         输入，close时关闭
+     * @param pattern        正则表达式
+     * @param maxMatchLength 最大匹配长度，决定窗口保留的字符数
+     */
+    public RegexScanner(Reader reader, Pattern pattern, int maxMatchLength) {
+        if (maxMatchLength <= 0) {
+            throw new IllegalArgumentException("maxMatchLength必须大于0: " + maxMatchLength);
+        }
+        this.reader = reader;
+        this.maxMatchLength = maxMatchLength;
+        this.buf = new char[Math.min(READ_SIZE << 1, maxMatchLength + READ_SIZE)];
+        this.matcher = pattern.matcher(CharBuffer.wrap(buf, 0, 0)).useTransparentBounds(true)
+                .useAnchoringBounds(false);
+    }
+
+    public RegexScanner(Reader reader, Pattern pattern) {
+        this(reader, pattern, DEFAULT_MAX_MATCH_LENGTH);
+    }
+
+    /**
+     * 直接在内存中的字符序列上查找，CharBuffer等不需要先转成String
+     *
+     * @param input   输入
+     * @param pattern 正则表达式
+     * @return RegexScanner
+     */
+    public static RegexScanner of(CharSequence input, Pattern pattern) {
+        return new RegexScanner(pattern, input);
+    }
+
+    /**
+     * 在内存映射的文件上查找，按区段映射并增量解码
+     *
+     * @param path    文件路径
+     * @param charset 文件编码
+     * @param pattern 正则表达式
+     * @return RegexScanner，使用后需要关闭
+     * @throws IOException 打开文件失败时抛出
+     */
+    public static RegexScanner of(Path path, Charset charset, Pattern pattern) throws IOException {
+        return new RegexScanner(new MappedFileReader(path, charset), pattern);
+    }
+
+    /**
+     * 查找下一个匹配
+     *
+     * @return 当前匹配，只在下次调用find之前有效，没有更多匹配时返回null
+     * @throws IOException 读取输入失败时抛出
+     */
+    public MatchResult find() throws IOException {
+        while (true) {
+            int from = emptyMatch ? pos + 1 : pos;
+            if (from > len) {
+                if (eof) {
+                    return finish();
+                }
+                fill(pos);
+                continue;
+            }
+            matcher.region(from, len);
+            boolean found = matcher.find();
+            if (found && (eof || len - matcher.start() >= maxMatchLength || !needMore())) {
+                pos = matcher.end();
+                emptyMatch = matcher.start() == pos;
+                matched = true;
+                return matcher;
+            }
+            if (!found && eof) {
+                return finish();
+            }
+            // 没有匹配或匹配结果可能随后续输入改变，只保留可能成为匹配起点的内容继续读取
+            fill(Math.max(pos, len - maxMatchLength));
+        }
+    }
+
+    /**
+     * 上一个匹配的起点在整个输入中的字符偏移
+     *
+     * @return long
+     */
+    public long start() {
+        if (!matched) {
+            throw new IllegalStateException("没有当前匹配");
+        }
+        return base + matcher.start();
+    }
+
+    /**
+     * 把每个匹配交给回调，回调返回false时停止
+     *
+     * @param handler 回调
+     * @return 交给回调的匹配数
+     * @throws IOException 读取输入失败时抛出
+     */
+    public long forEach(MatchHandler handler) throws IOException {
+        long count = 0;
+        MatchResult match;
+        while ((match = find()) != null) {
+            count++;
+            if (!handler.onMatch(match, base + match.start())) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 惰性获取每个匹配中指定分组的内容，分组未参与匹配时为null，读取失败时抛出UncheckedIOException
+     *
+     * @param group 分组序号，0为整个匹配
+     * @return Iterator
+     */
+    public Iterator<String> groups(int group) {
+        return new Iterator<String>() {
+
+            private String next;
+
+            private boolean ready;
+
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready && !done) {
+                    MatchResult match;
+                    try {
+                        match = find();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (match == null) {
+                        done = true;
+                    } else {
+                        next = match.group(group);
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return next;
+            }
+        };
+    }
+
+    /**
+     * 惰性获取每个匹配中指定分组内容的流，关闭流时关闭本对象
+     *
+     * @param group 分组序号，0为整个匹配
+     * @return Stream
+     */
+    public Stream<String> stream(int group) {
+        Spliterator<String> spliterator = Spliterators
+                .spliteratorUnknownSize(groups(group), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    private MatchResult finish() {
+        matched = false;
+        return null;
+    }
+
+    /**
+     * 本次找到的匹配是否可能随后续输入改变，$和\Z在末尾的行终止符前匹配时不设置hitEnd，
+     * 所以匹配结束在窗口末尾两个字符内时也视为可能改变
+     */
+    private boolean needMore() {
+        return matcher.hitEnd() || matcher.requireEnd() || len - matcher.end() < 2;
+    }
+
+    /**
+     * 丢弃keepFrom之前的字符，再读取一次输入，窗口已满时扩容
+     */
+    private void fill(int keepFrom) throws IOException {
+        if (keepFrom > pos) {
+            pos = keepFrom;
+            emptyMatch = false;
+        }
+        // 多保留一个字符，窗口开头不会被当作输入开头匹配^，后顾和\b也能看到前一个字符
+        int drop = keepFrom - 1;
+        if (drop > 0) {
+            System.arraycopy(buf, drop, buf, 0, len - drop);
+            len -= drop;
+            pos -= drop;
+            base += drop;
+        }
+        if (buf.length - len < READ_SIZE) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, len + READ_SIZE));
+        }
+        int n = reader.read(buf, len, buf.length - len);
+        if (n < 0) {
+            eof = true;
+        } else {
+            len += n;
+        }
+        matched = false;
+        matcher.reset(CharBuffer.wrap(buf, 0, len));
+    }
+}
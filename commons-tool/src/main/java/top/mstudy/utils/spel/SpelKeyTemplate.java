@@ -0,0 +1,152 @@
+package top.mstudy.utils.spel;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author machao
+ * @description: 预先解析的SpEL key模板，如prefix_#a_#b.c，按下划线拆分后以#开头的片段为表达式，其余为原样输出的文本，
+ * 各片段直接拼接，表达式结果为null时不输出，规则与StringUtils.getValueBySpelKey原有实现相同；
+ * 模板解析一次后缓存，表达式使用MIXED编译模式，多次求值后编译为字节码，编译后的代码不适用时自动回退为解释执行；
+ * 与原有实现相同，每个表达式片段在新的求值上下文中求值，片段中的赋值（如#x = 1）不会影响其他片段和下一次调用；
+ * 各上下文共用线程安全的属性访问器和方法解析器，保留其反射缓存；
+ * 没有按“不重建上下文”的方式在线程内复用上下文：复用会让片段之间、调用之间互相可见变量，与原有结果不一致，
+ * 线程池中长期存活的ThreadLocal上下文还会持有参数对象和类加载器；新建上下文只是几个对象的分配，
+ * 耗时主要在表达式求值，编译后的表达式和反射缓存已经复用
+ * @date 2026-10-18
+ */
+public final class SpelKeyTemplate {
+
+    /**
+     * 缓存的模板数上限，超过后新模板不再缓存，每次调用重新解析
+     */
+    private static final int MAX_CACHED = 1024;
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelKeyTemplate.class.getClassLoader()));
+
+    private static final ConcurrentHashMap<String, SpelKeyTemplate> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 与StandardEvaluationContext默认的属性访问器、方法解析器相同，只读使用时线程安全
+     */
+    private static final List<PropertyAccessor> PROPERTY_ACCESSORS = Collections
+            .singletonList(new ReflectivePropertyAccessor());
+
+    private static final List<MethodResolver> METHOD_RESOLVERS = Collections
+            .singletonList(new ReflectiveMethodResolver());
+
+    private final String template;
+
+    /**
+     * 文本片段，对应位置为表达式时为null
+     */
+    private final String[] literals;
+
+    /**
+     * 表达式片段，对应位置为文本时为null
+     */
+    private final Expression[] expressions;
+
+    /**
+     * 文本片段的总长度，用于预估结果长度
+     */
+    private final int literalLength;
+
+    private SpelKeyTemplate(String template) {
+        this.template = template;
+        String[] parts = template.split("_");
+        this.literals = new String[parts.length];
+        this.expressions = new Expression[parts.length];
+        int length = 0;
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].startsWith("#")) {
+                expressions[i] = PARSER.parseExpression(parts[i]);
+            } else {
+                literals[i] = parts[i];
+                length += parts[i].length();
+            }
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 获取模板，已解析过的模板直接从缓存返回
+     *
+     * @param template 模板
+     * @return SpelKeyTemplate
+     * @throws org.springframework.expression.ParseException 表达式语法错误时抛出
+     */
+    public static SpelKeyTemplate of(String template) {
+        SpelKeyTemplate compiled = CACHE.get(template);
+        if (compiled != null) {
+            return compiled;
+        }
+        compiled = new SpelKeyTemplate(template);
+        if (CACHE.size() < MAX_CACHED) {
+            SpelKeyTemplate prev = CACHE.putIfAbsent(template, compiled);
+            if (prev != null) {
+                return prev;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * 按参数名和参数值求值，参数名作为SpEL变量名，与参数值按位置对应
+     *
+     * @param parameterNames 参数列表名
+     * @param values         参数列表值
+     * @return String
+     */
+    public String render(String[] parameterNames, Object[] values) {
+        StringBuilder sb = new StringBuilder(literalLength + 16);
+        for (int i = 0; i < literals.length; i++) {
+            if (literals[i] != null) {
+                sb.append(literals[i]);
+                continue;
+            }
+            Object value = expressions[i].getValue(newContext(parameterNames, values));
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static StandardEvaluationContext newContext(String[] parameterNames, Object[] values) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setPropertyAccessors(PROPERTY_ACCESSORS);
+        context.setMethodResolvers(METHOD_RESOLVERS);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                context.setVariable(parameterNames[i], values[i]);
+            }
+        }
+        return context;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * 已缓存的模板数
+     *
+     * @return int
+     */
+    public static int cachedSize() {
+        return CACHE.size();
+    }
+}
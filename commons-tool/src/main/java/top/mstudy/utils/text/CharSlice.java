@@ -0,0 +1,69 @@
+package top.mstudy.utils.text;
+
+/**
+ * @author machao
+ * @description: 原字符序列上的只读视图，不复制字符，toString时才生成字符串；原序列可变时视图内容随之改变
+ * @date 2026-10-18
+ */
+public final class CharSlice implements CharSequence {
+
+    private final CharSequence source;
+
+    private final int start;
+
+    private final int end;
+
+    public CharSlice(CharSequence source, int start, int end) {
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + source.length());
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + (end - start));
+        }
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > end - start || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + (end - start));
+        }
+        return new CharSlice(source, start + from, start + to);
+    }
+
+    /**
+     * 与另一个字符序列的内容是否相同
+     *
+     * @param other 字符序列
+     * @return boolean
+     */
+    public boolean contentEquals(CharSequence other) {
+        int length = end - start;
+        if (other == null || other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return source.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,272 @@
+package top.mstudy.utils.text;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author machao
+ * @description: 多组开始、结束标识之间内容的提取，所有标识构建为一个Aho-Corasick自动机，一次线性扫描找出全部内容区间
+ * 每组标识的结果与单独用indexOf查找相同：找到开始标识后取其后第一个结束标识之间的内容，
+ * 再从结束标识之后继续查找开始标识，开始标识之后没有结束标识时该组结束，开始、结束标识相邻时的空内容不输出；
+ * 各组互不影响，标识可以重叠或在多组中重复出现；结果按结束标识出现的顺序给出，只包含区间不复制内容；
+ * 构建后不可变，可以被多个线程共享
+ * @date 2026-10-18
+ */
+public final class MarkerExtractor {
+
+    private static final int START = 0;
+
+    private static final int END = 1;
+
+    private final String[] starts;
+
+    private final String[] ends;
+
+    /**
+     * ASCII字符的字符类，0表示未出现在标识中的字符
+     */
+    private final int[] asciiClasses = new int[128];
+
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+
+    private final int stride;
+
+    /**
+     * 完整的状态转移表，delta[state * stride + class]
+     */
+    private final int[] delta;
+
+    /**
+     * 每个状态结束的标识，元素为(组序号 << 1 | START或END)，包括沿失败链可达的标识
+     */
+    private final int[][] outputs;
+
+    /**
+     * @param starts 各组的开始标识
+     * @param ends   各组的结束标识，与starts一一对应
+     * @throws IllegalArgumentException 数量不一致或有标识为null、空串时抛出
+     */
+    public MarkerExtractor(String[] starts, String[] ends) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("开始标识和结束标识的数量不一致");
+        }
+        this.starts = starts.clone();
+        this.ends = ends.clone();
+        int classes = 1;
+        for (int i = 0; i < starts.length; i++) {
+            classes = assignClasses(starts[i], classes);
+            classes = assignClasses(ends[i], classes);
+        }
+        this.stride = classes;
+
+        // 构建字典树，-1表示尚无转移
+        int capacity = 1;
+        for (int i = 0; i < starts.length; i++) {
+            capacity += starts[i].length() + ends[i].length();
+        }
+        int[] trie = new int[capacity * stride];
+        Arrays.fill(trie, -1);
+        List<List<Integer>> own = new ArrayList<>();
+        own.add(null);
+        int states = 1;
+        for (int i = 0; i < starts.length * 2; i++) {
+            String marker = (i & 1) == START ? starts[i >> 1] : ends[i >> 1];
+            int state = 0;
+            for (int j = 0; j < marker.length(); j++) {
+                int index = state * stride + classOf(marker.charAt(j));
+                if (trie[index] < 0) {
+                    trie[index] = states++;
+                    own.add(null);
+                }
+                state = trie[index];
+            }
+            if (own.get(state) == null) {
+                own.set(state, new ArrayList<>());
+            }
+            own.get(state).add(i);
+        }
+
+        // 按层遍历补全转移并合并失败链上的输出
+        this.delta = Arrays.copyOf(trie, states * stride);
+        this.outputs = new int[states][];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < stride; c++) {
+            if (delta[c] < 0) {
+                delta[c] = 0;
+            } else {
+                queue.add(delta[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(own.get(state), outputs[fail[state]]);
+            for (int c = 0; c < stride; c++) {
+                int index = state * stride + c;
+                int next = delta[index];
+                if (next < 0) {
+                    delta[index] = delta[fail[state] * stride + c];
+                } else {
+                    fail[next] = delta[fail[state] * stride + c];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * 标识组数
+     *
+     * @return int
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * 扫描文本，把每个非空的内容区间交给handler，handler返回false时停止
+     *
+     * @param text    文本
+     * @param handler 回调
+     */
+    public void find(CharSequence text, SpanHandler handler) {
+        int groups = starts.length;
+        // contentStart为-1表示该组尚未找到开始标识，resume为下一个开始标识允许的最小起点
+        int[] contentStart = new int[groups];
+        int[] resume = new int[groups];
+        Arrays.fill(contentStart, -1);
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = delta[state * stride + classOf(text.charAt(i))];
+            int[] out = outputs[state];
+            if (out == null) {
+                continue;
+            }
+            for (int entry : out) {
+                int group = entry >> 1;
+                if ((entry & 1) == END) {
+                    int begin = i + 1 - ends[group].length();
+                    if (contentStart[group] >= 0 && begin >= contentStart[group]) {
+                        int from = contentStart[group];
+                        contentStart[group] = -1;
+                        resume[group] = i + 1;
+                        if (from < begin && !handler.onSpan(group, from, begin)) {
+                            return;
+                        }
+                    }
+                } else if (contentStart[group] < 0 && i + 1 - starts[group].length() >= resume[group]) {
+                    contentStart[group] = i + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 扫描文本，返回全部内容区间
+     *
+     * @param text 文本
+     * @return List
+     */
+    public List<Span> spans(CharSequence text) {
+        List<Span> spans = new ArrayList<>();
+        find(text, (group, start, end) -> spans.add(new Span(group, start, end)));
+        return spans;
+    }
+
+    /**
+     * 扫描文本，按组返回内容，每组内按出现顺序排列
+     *
+     * @param text 文本
+     * @return 下标为组序号
+     */
+    public List<List<String>> extract(String text) {
+        List<List<String>> result = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            result.add(new ArrayList<>());
+        }
+        find(text, (group, start, end) -> result.get(group).add(text.substring(start, end)));
+        return result;
+    }
+
+    private int assignClasses(String marker, int classes) {
+        if (marker == null || marker.isEmpty()) {
+            throw new IllegalArgumentException("标识不能为空");
+        }
+        for (int i = 0; i < marker.length(); i++) {
+            char c = marker.charAt(i);
+            if (c < 128) {
+                if (asciiClasses[c] == 0) {
+                    asciiClasses[c] = classes++;
+                }
+            } else if (!otherClasses.containsKey(c)) {
+                otherClasses.put(c, classes++);
+            }
+        }
+        return classes;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        if (otherClasses.isEmpty()) {
+            return 0;
+        }
+        Integer cls = otherClasses.get(c);
+        return cls == null ? 0 : cls;
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        if (own == null) {
+            return inherited;
+        }
+        int size = own.size();
+        int[] merged = new int[size + (inherited == null ? 0 : inherited.length)];
+        if (inherited != null) {
+            System.arraycopy(inherited, 0, merged, size, inherited.length);
+        }
+        for (int i = 0; i < size; i++) {
+            merged[i] = own.get(i);
+        }
+        return merged;
+    }
+
+    /**
+     * 内容区间的回调
+     */
+    @FunctionalInterface public interface SpanHandler {
+
+        /**
+         * @param group 标识组序号
+         * @param start 内容起点，即开始标识之后的位置
+         * @param end   内容终点（不含），即结束标识的位置
+         * @return 返回false时停止扫描
+         */
+        boolean onSpan(int group, int start, int end);
+    }
+
+    /**
+     * 内容区间
+     */
+    @Getter @ToString public static final class Span {
+
+        private final int group;
+
+        private final int start;
+
+        private final int end;
+
+        public Span(int group, int start, int end) {
+            this.group = group;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
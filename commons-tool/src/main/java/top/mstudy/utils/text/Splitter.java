@@ -0,0 +1,312 @@
+package top.mstudy.utils.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author machao
+ * @description: 不复制内容的字符串拆分，规则与StringUtils.split相同：
+ * 空白字符串没有结果；needBlank为false时跳过空的片段；末尾分隔符之后的空片段总是不输出；
+ * 结果可以逐个交给回调（不为片段分配对象）、写入可复用的偏移数组，或以原字符串上的CharSlice视图返回
+ * @date 2026-10-18
+ */
+public final class Splitter {
+
+    private Splitter() {
+    }
+
+    /**
+     * 按字符拆分，每个片段的位置交给visitor，visitor返回false时停止
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符
+     * @param needBlank 空白是否需要输出
+     * @param visitor   回调
+     * @return 交给回调的片段数
+     */
+    public static int split(CharSequence str, char sep, boolean needBlank, TokenVisitor visitor) {
+        if (isBlank(str)) {
+            return 0;
+        }
+        int len = str.length();
+        int count = 0;
+        int lastIdx = 0;
+        int idx;
+        while ((idx = indexOf(str, sep, lastIdx)) >= 0) {
+            if (needBlank || lastIdx != idx) {
+                count++;
+                if (!visitor.onToken(str, lastIdx, idx)) {
+                    return count;
+                }
+            }
+            lastIdx = idx + 1;
+        }
+        if (lastIdx != len) {
+            count++;
+            visitor.onToken(str, lastIdx, len);
+        }
+        return count;
+    }
+
+    /**
+     * 按字符串拆分，每个片段的位置交给visitor，visitor返回false时停止
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符，不能为空
+     * @param needBlank 空白是否需要输出
+     * @param visitor   回调
+     * @return 交给回调的片段数
+     */
+    public static int split(CharSequence str, String sep, boolean needBlank, TokenVisitor visitor) {
+        if (isBlank(str)) {
+            return 0;
+        }
+        if (sep.isEmpty()) {
+            throw new IllegalArgumentException("分隔符不能为空");
+        }
+        if (sep.length() == 1) {
+            return split(str, sep.charAt(0), needBlank, visitor);
+        }
+        int len = str.length();
+        int sepLen = sep.length();
+        int count = 0;
+        int lastIdx = 0;
+        int idx;
+        while ((idx = indexOf(str, sep, lastIdx)) >= 0) {
+            if (needBlank || lastIdx != idx) {
+                count++;
+                if (!visitor.onToken(str, lastIdx, idx)) {
+                    return count;
+                }
+            }
+            lastIdx = idx + sepLen;
+        }
+        if (lastIdx != len) {
+            count++;
+            visitor.onToken(str, lastIdx, len);
+        }
+        return count;
+    }
+
+    /**
+     * 按字符拆分，把片段的起止位置写入tokens，tokens先被清空，可以在多次拆分间复用
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符
+     * @param needBlank 空白是否需要输出
+     * @param tokens    可复用的结果
+     * @return tokens
+     */
+    public static Tokens split(CharSequence str, char sep, boolean needBlank, Tokens tokens) {
+        tokens.reset(str);
+        split(str, sep, needBlank, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * 按字符串拆分，把片段的起止位置写入tokens，tokens先被清空，可以在多次拆分间复用
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符，不能为空
+     * @param needBlank 空白是否需要输出
+     * @param tokens    可复用的结果
+     * @return tokens
+     */
+    public static Tokens split(CharSequence str, String sep, boolean needBlank, Tokens tokens) {
+        tokens.reset(str);
+        split(str, sep, needBlank, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * 按字符拆分，返回原字符序列上的视图
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符
+     * @param needBlank 空白是否需要输出
+     * @return List
+     */
+    public static List<CharSequence> slices(CharSequence str, char sep, boolean needBlank) {
+        List<CharSequence> slices = new ArrayList<>();
+        split(str, sep, needBlank, (source, start, end) -> slices.add(new CharSlice(source, start, end)));
+        return slices;
+    }
+
+    /**
+     * 按字符串拆分，返回原字符序列上的视图
+     *
+     * @param str       待拆分的字符序列
+     * @param sep       分隔符，不能为空
+     * @param needBlank 空白是否需要输出
+     * @return List
+     */
+    public static List<CharSequence> slices(CharSequence str, String sep, boolean needBlank) {
+        List<CharSequence> slices = new ArrayList<>();
+        split(str, sep, needBlank, (source, start, end) -> slices.add(new CharSlice(source, start, end)));
+        return slices;
+    }
+
+    /**
+     * 与StringUtils.isBlank相同：null或只含不大于空格的字符
+     */
+    private static boolean isBlank(CharSequence str) {
+        if (str == null) {
+            return true;
+        }
+        for (int i = 0, len = str.length(); i < len; i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence str, char c, int from) {
+        if (str instanceof String) {
+            return ((String) str).indexOf(c, from);
+        }
+        for (int i = from, len = str.length(); i < len; i++) {
+            if (str.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence str, String sep, int from) {
+        if (str instanceof String) {
+            return ((String) str).indexOf(sep, from);
+        }
+        char first = sep.charAt(0);
+        int last = str.length() - sep.length();
+        for (int i = from; i <= last; i++) {
+            if (str.charAt(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < sep.length() && str.charAt(i + j) == sep.charAt(j)) {
+                j++;
+            }
+            if (j == sep.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 片段回调
+     */
+    @FunctionalInterface public interface TokenVisitor {
+
+        /**
+         * @param source 被拆分的字符序列
+         * @param start  片段起点
+         * @param end    片段终点（不含）
+         * @return 返回false时停止拆分
+         */
+        boolean onToken(CharSequence source, int start, int end);
+    }
+
+    /**
+     * 可复用的拆分结果，按[start0, end0, start1, end1, ...]存放片段位置，容量不足时扩容，非线程安全
+     */
+    public static final class Tokens {
+
+        private CharSequence source;
+
+        private int[] offsets;
+
+        private int size;
+
+        public Tokens() {
+            this(16);
+        }
+
+        /**
+         * @param capacity 初始可容纳的片段数
+         */
+        public Tokens(int capacity) {
+            this.offsets = new int[Math.max(capacity, 1) << 1];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int start(int index) {
+            checkIndex(index);
+            return offsets[index << 1];
+        }
+
+        public int end(int index) {
+            checkIndex(index);
+            return offsets[(index << 1) + 1];
+        }
+
+        /**
+         * 片段视图，不复制字符
+         *
+         * @param index 片段序号
+         * @return CharSequence
+         */
+        public CharSequence get(int index) {
+            return new CharSlice(source, start(index), end(index));
+        }
+
+        /**
+         * 片段字符串，复制字符
+         *
+         * @param index 片段序号
+         * @return String
+         */
+        public String getString(int index) {
+            return source.subSequence(start(index), end(index)).toString();
+        }
+
+        /**
+         * 底层的偏移数组，前size() * 2个元素有效，下次拆分时会被覆盖
+         *
+         * @return int[]
+         */
+        public int[] offsets() {
+            return offsets;
+        }
+
+        /**
+         * 转为字符串数组，结果与StringUtils.split相同
+         *
+         * @return String[]
+         */
+        public String[] toArray() {
+            String[] result = new String[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = source.subSequence(offsets[i << 1], offsets[(i << 1) + 1]).toString();
+            }
+            return result;
+        }
+
+        private void reset(CharSequence source) {
+            this.source = source;
+            this.size = 0;
+        }
+
+        private boolean add(CharSequence source, int start, int end) {
+            int index = size << 1;
+            if (index == offsets.length) {
+                offsets = Arrays.copyOf(offsets, index << 1);
+            }
+            offsets[index] = start;
+            offsets[index + 1] = end;
+            size++;
+            return true;
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            }
+        }
+    }
+}
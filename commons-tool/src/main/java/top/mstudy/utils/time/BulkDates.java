@@ -0,0 +1,286 @@
+package top.mstudy.utils.time;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.util.Calendar.*;
+
+/**
+ * @author machao
+ * @description: 批量日期运算工具，对纪元毫秒数组或LongStream整列做加减、截断、按天/月分桶和求差，
+ * 结果与TimeUtils中的单值方法（dateAddAmount、compareDate等）完全一致；
+ * 常规情况按公历算术计算，时区偏移在附近发生变化或年份早于1600年时逐个退回Calendar计算；
+ * 数组长度达到PARALLEL_THRESHOLD且parallel为true时使用fork-join公共池并行计算
+ * @date 2026-10-18
+ */
+public final class BulkDates {
+
+    /**
+     * 启用并行计算的最小数组长度
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    private static final int MIN_YEAR = 1600;
+
+    private static final ThreadLocal<Calendar> calendarLocal = ThreadLocal.withInitial(Calendar::getInstance);
+
+    private BulkDates() {
+    }
+
+    /**
+     * 整列加减，等同于对每个元素调用TimeUtils.dateAddAmount(Date, field, amount)
+     *
+     * @param millis 纪元毫秒数组
+     * @param field  Calendar字段
+     * @param amount 增加的数量
+     * @return long[]
+     */
+    public static long[] shift(long[] millis, int field, int amount) {
+        return shift(millis, field, amount, false);
+    }
+
+    public static long[] shift(long[] millis, int field, int amount, boolean parallel) {
+        TimeZone zone = TimeZone.getDefault();
+        long[] result = new long[millis.length];
+        range(millis.length, parallel).forEach(i -> result[i] = shift(millis[i], field, amount, zone));
+        return result;
+    }
+
+    public static LongStream shift(LongStream millis, int field, int amount) {
+        TimeZone zone = TimeZone.getDefault();
+        return millis.map(t -> shift(t, field, amount, zone));
+    }
+
+    /**
+     * 整列截断到指定字段，等同于对每个元素调用DateUtils.truncate(Date, field)
+     *
+     * @param millis 纪元毫秒数组
+     * @param field  Calendar字段，支持YEAR、MONTH、DATE、HOUR_OF_DAY、HOUR、MINUTE、SECOND
+     * @return long[]
+     */
+    public static long[] truncate(long[] millis, int field) {
+        return truncate(millis, field, false);
+    }
+
+    public static long[] truncate(long[] millis, int field, boolean parallel) {
+        TimeZone zone = TimeZone.getDefault();
+        long[] result = new long[millis.length];
+        range(millis.length, parallel).forEach(i -> result[i] = truncate(millis[i], field, zone));
+        return result;
+    }
+
+    public static LongStream truncate(LongStream millis, int field) {
+        TimeZone zone = TimeZone.getDefault();
+        return millis.map(t -> truncate(t, field, zone));
+    }
+
+    /**
+     * 按天分桶，返回每个元素所在的yyyyMMdd日期
+     *
+     * @param millis 纪元毫秒数组
+     * @return int[]
+     */
+    public static int[] bucketByDay(long[] millis) {
+        return bucketByDay(millis, false);
+    }
+
+    public static int[] bucketByDay(long[] millis, boolean parallel) {
+        TimeZone zone = TimeZone.getDefault();
+        int[] result = new int[millis.length];
+        range(millis.length, parallel).forEach(i -> result[i] = dayOf(millis[i], zone));
+        return result;
+    }
+
+    public static IntStream bucketByDay(LongStream millis) {
+        TimeZone zone = TimeZone.getDefault();
+        return millis.mapToInt(t -> dayOf(t, zone));
+    }
+
+    /**
+     * 按月分桶，返回每个元素所在的yyyyMM月份
+     *
+     * @param millis 纪元毫秒数组
+     * @return int[]
+     */
+    public static int[] bucketByMonth(long[] millis) {
+        return bucketByMonth(millis, false);
+    }
+
+    public static int[] bucketByMonth(long[] millis, boolean parallel) {
+        TimeZone zone = TimeZone.getDefault();
+        int[] result = new int[millis.length];
+        range(millis.length, parallel).forEach(i -> result[i] = IntDates.yyyyMM(dayOf(millis[i], zone)));
+        return result;
+    }
+
+    public static IntStream bucketByMonth(LongStream millis) {
+        TimeZone zone = TimeZone.getDefault();
+        return millis.mapToInt(t -> IntDates.yyyyMM(dayOf(t, zone)));
+    }
+
+    /**
+     * 两列逐个求差，等同于对每对元素调用TimeUtils.compareDate(Date, Date, field)
+     *
+     * @param millis1 被减数纪元毫秒数组
+     * @param millis2 减数纪元毫秒数组
+     * @param field   Calendar字段
+     * @return long[]
+     */
+    public static long[] diff(long[] millis1, long[] millis2, int field) {
+        return diff(millis1, millis2, field, false);
+    }
+
+    public static long[] diff(long[] millis1, long[] millis2, int field, boolean parallel) {
+        if (millis1.length != millis2.length) {
+            throw new IllegalArgumentException("两个数组长度不一致：" + millis1.length + " != " + millis2.length);
+        }
+        TimeZone zone = TimeZone.getDefault();
+        long[] result = new long[millis1.length];
+        range(millis1.length, parallel)
+                .forEach(i -> result[i] = FieldDiffs.diff(millis1[i], millis2[i], field, zone));
+        return result;
+    }
+
+    /**
+     * 单个值的加减，与Calendar.add结果一致
+     */
+    public static long shift(long millis, int field, int amount, TimeZone zone) {
+        switch (field) {
+        case MILLISECOND:
+            return millis + amount;
+        case SECOND:
+            return millis + amount * 1000L;
+        case MINUTE:
+            return millis + amount * 60000L;
+        case HOUR:
+        case HOUR_OF_DAY:
+            return millis + amount * 3600000L;
+        case DATE:
+        case DAY_OF_YEAR:
+        case MONTH:
+        case YEAR:
+            long local = millis + zone.getOffset(millis);
+            long epochDay = Math.floorDiv(local, IntDates.MILLIS_PER_DAY);
+            long timeOfDay = local - epochDay * IntDates.MILLIS_PER_DAY;
+            int ymd = IntDates.ofEpochDay(epochDay);
+            int target;
+            if (field == MONTH) {
+                target = IntDates.addMonths(ymd, amount);
+            } else if (field == YEAR) {
+                target = IntDates.addYears(ymd, amount);
+            } else {
+                target = IntDates.addDays(ymd, amount);
+            }
+            if (IntDates.year(ymd) >= MIN_YEAR && IntDates.year(target) >= MIN_YEAR) {
+                long utc = FixedDateLayout
+                        .localToUtc(IntDates.toEpochDay(target) * IntDates.MILLIS_PER_DAY + timeOfDay, zone);
+                if (utc != FixedDateLayout.UNPARSED) {
+                    return utc;
+                }
+            }
+            break;
+        default:
+            break;
+        }
+        Calendar cal = calendar(zone);
+        cal.setTimeInMillis(millis);
+        cal.add(field, amount);
+        return cal.getTimeInMillis();
+    }
+
+    /**
+     * 单个值的截断，与DateUtils.truncate结果一致
+     */
+    public static long truncate(long millis, int field, TimeZone zone) {
+        long unit;
+        switch (field) {
+        case SECOND:
+            unit = 1000L;
+            break;
+        case MINUTE:
+            unit = 60000L;
+            break;
+        case HOUR:
+        case HOUR_OF_DAY:
+            unit = 3600000L;
+            break;
+        case DATE:
+        case MONTH:
+        case YEAR:
+            unit = IntDates.MILLIS_PER_DAY;
+            break;
+        default:
+            unit = 0L;
+            break;
+        }
+        if (unit > 0) {
+            int offset = zone.getOffset(millis);
+            long local = millis + offset;
+            long epochDay = Math.floorDiv(local, IntDates.MILLIS_PER_DAY);
+            int ymd = IntDates.ofEpochDay(epochDay);
+            long utc = FixedDateLayout.UNPARSED;
+            // DateUtils.truncate依次经过当天零点、当月1日零点，途经时刻的偏移与原值不同时Calendar会保留原有的夏令时偏移，
+            // 这些情况交给Calendar处理以保持一致
+            if (IntDates.year(ymd) >= MIN_YEAR) {
+                if (unit < IntDates.MILLIS_PER_DAY) {
+                    utc = sameOffsetLocalToUtc(Math.floorDiv(local, unit) * unit, offset, zone);
+                } else {
+                    utc = sameOffsetLocalToUtc(epochDay * IntDates.MILLIS_PER_DAY, offset, zone);
+                    if (field != DATE && utc != FixedDateLayout.UNPARSED) {
+                        utc = sameOffsetLocalToUtc(IntDates.toEpochDay(IntDates.firstDayOfMonth(ymd))
+                                * IntDates.MILLIS_PER_DAY, offset, zone);
+                    }
+                    if (field == YEAR && utc != FixedDateLayout.UNPARSED) {
+                        utc = sameOffsetLocalToUtc(IntDates.toEpochDay(IntDates.of(IntDates.year(ymd), 1, 1))
+                                * IntDates.MILLIS_PER_DAY, offset, zone);
+                    }
+                }
+            }
+            if (utc != FixedDateLayout.UNPARSED) {
+                return utc;
+            }
+        }
+        Calendar cal = calendar(zone);
+        cal.setTimeInMillis(millis);
+        return DateUtils.truncate(cal, field).getTimeInMillis();
+    }
+
+    /**
+     * 本地时间换算为纪元毫秒，要求附近偏移稳定且与给定偏移一致，否则返回UNPARSED
+     */
+    private static long sameOffsetLocalToUtc(long local, int offset, TimeZone zone) {
+        long utc = FixedDateLayout.localToUtc(local, zone);
+        return utc != FixedDateLayout.UNPARSED && zone.getOffset(utc) == offset ? utc : FixedDateLayout.UNPARSED;
+    }
+
+    /**
+     * 纪元毫秒所在的yyyyMMdd日期，早于1600年时按Calendar的儒略历规则计算
+     */
+    private static int dayOf(long millis, TimeZone zone) {
+        int ymd = IntDates.ofEpochMillis(millis, zone);
+        if (IntDates.year(ymd) >= MIN_YEAR) {
+            return ymd;
+        }
+        Calendar cal = calendar(zone);
+        cal.setTimeInMillis(millis);
+        return IntDates.of(cal.get(YEAR), cal.get(MONTH) + 1, cal.get(DATE));
+    }
+
+    private static Calendar calendar(TimeZone zone) {
+        Calendar cal = calendarLocal.get();
+        if (!cal.getTimeZone().hasSameRules(zone)) {
+            cal.setTimeZone(zone);
+        }
+        return cal;
+    }
+
+    private static IntStream range(int length, boolean parallel) {
+        IntStream range = IntStream.range(0, length);
+        return parallel && length >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+}
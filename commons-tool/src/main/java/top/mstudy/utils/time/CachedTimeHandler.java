@@ -0,0 +1,64 @@
+package top.mstudy.utils.time;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author machao
+ * @description: 粗粒度缓存时钟，由后台线程按固定精度刷新当前时间，读取时只是一次volatile读，不再调用System.currentTimeMillis
+ * 精度通过time.resolution配置，单位毫秒，默认1毫秒
+ * @date 2026-10-18
+ */
+public class CachedTimeHandler implements ITimeHandler, Closeable {
+
+    public static final long DEFAULT_RESOLUTION = 1L;
+
+    private final long resolution;
+
+    private final ScheduledExecutorService ticker;
+
+    private volatile long now;
+
+    public CachedTimeHandler() {
+        this(DEFAULT_RESOLUTION);
+    }
+
+    public CachedTimeHandler(TimeHandlerConfig config) {
+        this(config.getResolution());
+    }
+
+    public CachedTimeHandler(long resolution) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("时钟精度必须大于0：" + resolution);
+        }
+        this.resolution = resolution;
+        this.now = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cached-time-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), resolution, resolution,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long currentTimeMillis(boolean isLocal) {
+        return now;
+    }
+
+    public long getResolution() {
+        return resolution;
+    }
+
+    /**
+     * 停止后台刷新线程，之后读到的时间不再变化
+     */
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+}
@@ -0,0 +1,275 @@
+package top.mstudy.utils.time;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author machao
+ * @description: 按格式串缓存的线程安全日期格式化器注册表
+ * 格式化器使用取用时的默认时区和默认Locale，默认值改变后对应的缓存项会被重建，非格里历或非ASCII数字的Locale不缓存；
+ * 缓存的是不可变、线程安全的FastDateFormat，所有线程共享同一个实例，避免每次调用都new SimpleDateFormat；
+ * 缓存容量有上限，超出上限的格式串不再缓存，退回到每次新建SimpleDateFormat的方式，防止动态拼接的格式串撑爆内存；
+ * 定长数字格式（见FixedDateLayout）优先走专用编解码器，不创建Calendar和Date对象；
+ * formatCached用于格式化当前时间，按格式串的最小时间单位（秒、分、时、天）缓存上一次的结果，在单位边界到来前直接返回
+ * @date 2026-10-18
+ */
+public final class DateFormatRegistry {
+
+    /**
+     * 最多缓存的格式串个数
+     */
+    public static final int MAX_SIZE = 256;
+
+    private static final ConcurrentMap<String, Entry> FORMATS = new ConcurrentHashMap<String, Entry>();
+
+    private DateFormatRegistry() {
+    }
+
+    /**
+     * 获取格式串对应的共享格式化器，缓存已满且未缓存该格式串，或默认Locale不是ASCII数字的格里历时返回null
+     *
+     * @param pattern 日期格式串
+     * @return FastDateFormat
+     */
+    public static FastDateFormat getFormat(String pattern) {
+        Entry entry = getEntry(pattern);
+        return entry == null ? null : entry.format;
+    }
+
+    /**
+     * 按指定格式格式化日期
+     *
+     * @param date    日期对象
+     * @param pattern 日期格式串
+     * @return String
+     */
+    public static String format(Date date, String pattern) {
+        return format(date.getTime(), pattern);
+    }
+
+    /**
+     * 按指定格式格式化毫秒时间
+     *
+     * @param millis  毫秒时间
+     * @param pattern 日期格式串
+     * @return String
+     */
+    public static String format(long millis, String pattern) {
+        Entry entry = getEntry(pattern);
+        if (entry == null) {
+            return newSimpleDateFormat(pattern).format(new Date(millis));
+        }
+        return format(entry, millis);
+    }
+
+    /**
+     * 按指定格式格式化毫秒时间，并缓存结果直到格式串的最小时间单位发生变化，适合反复格式化当前时间的场景
+     *
+     * @param millis  毫秒时间
+     * @param pattern 日期格式串
+     * @return String
+     */
+    public static String formatCached(long millis, String pattern) {
+        Entry entry = getEntry(pattern);
+        if (entry == null) {
+            return newSimpleDateFormat(pattern).format(new Date(millis));
+        }
+        if (entry.granularity <= 1) {
+            return format(entry, millis);
+        }
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot != null && millis >= snapshot.from && millis < snapshot.until) {
+            return snapshot.text;
+        }
+        String text = format(entry, millis);
+        // 按时区偏移对齐到本地时间的单位边界，区间内偏移不变才缓存，避免夏令时切换前后取到旧值
+        TimeZone zone = entry.format.getTimeZone();
+        int offset = zone.getOffset(millis);
+        long from = Math.floorDiv(millis + offset, entry.granularity) * entry.granularity - offset;
+        long until = from + entry.granularity;
+        if (zone.getOffset(from) == offset && zone.getOffset(until - 1) == offset) {
+            entry.snapshot = new Snapshot(from, until, text);
+        }
+        return text;
+    }
+
+    /**
+     * 按指定格式解析日期字符串，与SimpleDateFormat.parse一致，只要求开头部分符合格式
+     *
+     * @param text    日期字符串
+     * @param pattern 日期格式串
+     * @return Date
+     * @throws ParseException 无法解析时抛出
+     */
+    public static Date parse(String text, String pattern) throws ParseException {
+        return new Date(parseMillis(text, pattern));
+    }
+
+    /**
+     * 按指定格式解析日期字符串，返回纪元毫秒
+     *
+     * @param text    日期字符串
+     * @param pattern 日期格式串
+     * @return long
+     * @throws ParseException 无法解析时抛出
+     */
+    public static long parseMillis(String text, String pattern) throws ParseException {
+        Entry entry = getEntry(pattern);
+        if (entry == null) {
+            return newSimpleDateFormat(pattern).parse(text).getTime();
+        }
+        if (entry.layout != null) {
+            long millis = entry.layout.parse(text, entry.format.getTimeZone());
+            if (millis != FixedDateLayout.UNPARSED) {
+                return millis;
+            }
+        }
+        return entry.format.parse(text).getTime();
+    }
+
+    /**
+     * 当前已缓存的格式串个数
+     *
+     * @return int
+     */
+    public static int size() {
+        return FORMATS.size();
+    }
+
+    private static String format(Entry entry, long millis) {
+        if (entry.layout != null) {
+            String text = entry.layout.format(millis, entry.format.getTimeZone());
+            if (text != null) {
+                return text;
+            }
+        }
+        return entry.format.format(millis);
+    }
+
+    /**
+     * 格式串中最小时间字段对应的毫秒数，含毫秒字段时返回1表示不缓存
+     */
+    static long granularityOf(String pattern) {
+        long granularity = FixedDateLayout.MILLIS_PER_DAY;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+            if (quoted) {
+                continue;
+            }
+            switch (c) {
+            case 'S':
+                return 1L;
+            case 's':
+                granularity = Math.min(granularity, 1000L);
+                break;
+            case 'm':
+                granularity = Math.min(granularity, 60000L);
+                break;
+            case 'H':
+            case 'h':
+            case 'k':
+            case 'K':
+            case 'a':
+                granularity = Math.min(granularity, 3600000L);
+                break;
+            default:
+                break;
+            }
+        }
+        return granularity;
+    }
+
+    /**
+     * 按当前的默认时区和默认格式化Locale取缓存项，默认值与缓存项创建时不同则重建并替换该格式串的缓存项，
+     * 与每次new SimpleDateFormat(pattern)的行为一致
+     */
+    private static Entry getEntry(String pattern) {
+        TimeZone zone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Entry entry = FORMATS.get(pattern);
+        if (entry != null && entry.matches(zone, locale)) {
+            return entry;
+        }
+        // FastDateFormat只输出ASCII数字，其他历法或数字的Locale退回到SimpleDateFormat
+        if (entry == null && FORMATS.size() >= MAX_SIZE || !isAsciiGregorian(zone, locale)) {
+            return null;
+        }
+        try {
+            entry = new Entry(FastDateFormat.getInstance(pattern, zone, locale), FixedDateLayout.compile(pattern),
+                    granularityOf(pattern));
+        } catch (Exception e) {
+            throw new RuntimeException("获取日期格式类发生错误！", e);
+        }
+        FORMATS.put(pattern, entry);
+        return entry;
+    }
+
+    private static boolean isAsciiGregorian(TimeZone zone, Locale locale) {
+        return Calendar.getInstance(zone, locale) instanceof GregorianCalendar
+                && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+    }
+
+    private static SimpleDateFormat newSimpleDateFormat(String pattern) {
+        try {
+            return new SimpleDateFormat(pattern);
+        } catch (Exception e) {
+            throw new RuntimeException("获取日期格式类发生错误！", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final FastDateFormat format;
+
+        private final FixedDateLayout layout;
+
+        private final long granularity;
+
+        private volatile Snapshot snapshot;
+
+        private Entry(FastDateFormat format, FixedDateLayout layout, long granularity) {
+            this.format = format;
+            this.layout = layout;
+            this.granularity = granularity;
+        }
+
+        private boolean matches(TimeZone zone, Locale locale) {
+            TimeZone current = format.getTimeZone();
+            return format.getLocale().equals(locale) && current.getID().equals(zone.getID())
+                    && current.hasSameRules(zone);
+        }
+    }
+
+    /**
+     * 上一次格式化的结果及其有效区间[from, until)
+     */
+    private static final class Snapshot {
+
+        private final long from;
+
+        private final long until;
+
+        private final String text;
+
+        private Snapshot(long from, long until, String text) {
+            this.from = from;
+            this.until = until;
+            this.text = text;
+        }
+    }
+}
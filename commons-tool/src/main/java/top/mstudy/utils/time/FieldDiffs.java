@@ -0,0 +1,76 @@
+package top.mstudy.utils.time;
+
+import java.util.TimeZone;
+
+import static java.util.Calendar.*;
+
+/**
+ * @author machao
+ * @description: 按时区计算两个时刻在Calendar字段上的差值
+ * SECOND、MINUTE、HOUR按经过的时长向下取整；DATE、MONTH、YEAR按各自时区的本地日期计算，偏移取自ZoneOffsets，
+ * 夏令时切换前后的天数也正确；其余字段返回毫秒差
+ * @date 2026-10-18
+ */
+public final class FieldDiffs {
+
+    private FieldDiffs() {
+    }
+
+    /**
+     * 两个时刻在同一时区下的字段差值，millis1 - millis2
+     *
+     * @param millis1 纪元毫秒
+     * @param millis2 纪元毫秒
+     * @param field   Calendar字段
+     * @param zone    时区
+     * @return long
+     */
+    public static long diff(long millis1, long millis2, int field, TimeZone zone) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        return diff(millis1, offsets, millis2, offsets, field);
+    }
+
+    /**
+     * 两个时刻各自按所在时区的字段差值，millis1 - millis2
+     *
+     * @param millis1 纪元毫秒
+     * @param zone1   millis1所在时区
+     * @param millis2 纪元毫秒
+     * @param zone2   millis2所在时区
+     * @param field   Calendar字段
+     * @return long
+     */
+    public static long diff(long millis1, TimeZone zone1, long millis2, TimeZone zone2, int field) {
+        ZoneOffsets offsets1 = ZoneOffsets.of(zone1);
+        ZoneOffsets offsets2 = zone2 == zone1 ? offsets1 : ZoneOffsets.of(zone2);
+        return diff(millis1, offsets1, millis2, offsets2, field);
+    }
+
+    private static long diff(long millis1, ZoneOffsets zone1, long millis2, ZoneOffsets zone2, int field) {
+        switch (field) {
+        case SECOND:
+            return Math.floorDiv(millis1, 1000L) - Math.floorDiv(millis2, 1000L);
+        case MINUTE:
+            return Math.floorDiv(millis1, 60000L) - Math.floorDiv(millis2, 60000L);
+        case HOUR:
+        case HOUR_OF_DAY:
+            return Math.floorDiv(millis1, 3600000L) - Math.floorDiv(millis2, 3600000L);
+        case DATE:
+        case DAY_OF_YEAR:
+            return epochDay(millis1, zone1) - epochDay(millis2, zone2);
+        case MONTH:
+            return IntDates.monthsBetween(IntDates.ofEpochDay(epochDay(millis1, zone1)),
+                    IntDates.ofEpochDay(epochDay(millis2, zone2)));
+        case YEAR:
+            return IntDates.yearsBetween(IntDates.ofEpochDay(epochDay(millis1, zone1)),
+                    IntDates.ofEpochDay(epochDay(millis2, zone2)));
+        default:
+            return millis1 - millis2;
+        }
+    }
+
+    private static long epochDay(long millis, ZoneOffsets zone) {
+        return Math.floorDiv(zone.toLocal(millis), IntDates.MILLIS_PER_DAY);
+    }
+
+}
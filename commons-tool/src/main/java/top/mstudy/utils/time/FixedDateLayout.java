@@ -0,0 +1,234 @@
+package top.mstudy.utils.time;
+
+import java.util.TimeZone;
+
+/**
+ * @author machao
+ * @description: 定长数字日期格式的专用编解码器
+ * 只支持由yyyy、MM、dd、HH、mm、ss和结尾的单个S组成、其余均为非字母分隔符的格式串，如yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmssS；
+ * 直接在字符上做数字运算并换算为纪元毫秒，不创建Calendar和Date对象。
+ * 超出快速路径的情况（字段越界需要宽松进位、年份早于格里历切换、时区偏移在附近发生变化等）返回UNPARSED或null，
+ * 由调用方退回到通用格式化器，保证结果与SimpleDateFormat一致
+ * @date 2026-10-18
+ */
+public final class FixedDateLayout {
+
+    /**
+     * 无法走快速路径解析时的返回值
+     */
+    public static final long UNPARSED = Long.MIN_VALUE;
+
+    static final long MILLIS_PER_DAY = IntDates.MILLIS_PER_DAY;
+
+    private static final int MIN_YEAR = 1600;
+
+    private static final int MAX_YEAR = 9999;
+
+    private final String pattern;
+
+    private final int length;
+
+    /**
+     * 每个位置的含义：字母为字段，其他为需要原样匹配的分隔符
+     */
+    private final char[] layout;
+
+    private final int yearIdx;
+
+    private final int monthIdx;
+
+    private final int dayIdx;
+
+    private final int hourIdx;
+
+    private final int minuteIdx;
+
+    private final int secondIdx;
+
+    private final int milliIdx;
+
+    private FixedDateLayout(String pattern, int[] idx) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        this.layout = pattern.toCharArray();
+        this.yearIdx = idx[0];
+        this.monthIdx = idx[1];
+        this.dayIdx = idx[2];
+        this.hourIdx = idx[3];
+        this.minuteIdx = idx[4];
+        this.secondIdx = idx[5];
+        this.milliIdx = idx[6];
+    }
+
+    /**
+     * 编译格式串，不支持的格式串返回null
+     *
+     * @param pattern 日期格式串
+     * @return FixedDateLayout
+     */
+    public static FixedDateLayout compile(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        // 依次为y M d H m s S的起始位置
+        int[] idx = { -1, -1, -1, -1, -1, -1, -1 };
+        int len = pattern.length();
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                return null;
+            }
+            if (!isLetter(c)) {
+                i++;
+                continue;
+            }
+            int run = 1;
+            while (i + run < len && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            int field = fieldOf(c);
+            int expected = c == 'y' ? 4 : c == 'S' ? 1 : 2;
+            if (field < 0 || run != expected || idx[field] >= 0) {
+                return null;
+            }
+            // 毫秒在SimpleDateFormat中是不定长输出，只允许出现在结尾
+            if (c == 'S' && i + run != len) {
+                return null;
+            }
+            idx[field] = i;
+            i += run;
+        }
+        if (idx[0] < 0) {
+            return null;
+        }
+        return new FixedDateLayout(pattern, idx);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 解析与格式串等长的日期字符串
+     *
+     * @param text 日期字符串
+     * @param zone 时区
+     * @return 纪元毫秒，无法走快速路径时返回UNPARSED
+     */
+    public long parse(CharSequence text, TimeZone zone) {
+        if (text == null || text.length() != length) {
+            return UNPARSED;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            char l = layout[i];
+            if (isLetter(l) ? (c < '0' || c > '9') : c != l) {
+                return UNPARSED;
+            }
+        }
+        int year = digits(text, yearIdx, 4);
+        int month = monthIdx < 0 ? 1 : digits(text, monthIdx, 2);
+        int day = dayIdx < 0 ? 1 : digits(text, dayIdx, 2);
+        int hour = hourIdx < 0 ? 0 : digits(text, hourIdx, 2);
+        int minute = minuteIdx < 0 ? 0 : digits(text, minuteIdx, 2);
+        int second = secondIdx < 0 ? 0 : digits(text, secondIdx, 2);
+        int milli = milliIdx < 0 ? 0 : digits(text, milliIdx, 1);
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > IntDates.lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return UNPARSED;
+        }
+        long local = IntDates.toEpochDay(year, month, day) * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L
+                + second * 1000L + milli;
+        return localToUtc(local, zone);
+    }
+
+    /**
+     * 格式化纪元毫秒
+     *
+     * @param millis 纪元毫秒
+     * @param zone   时区
+     * @return 格式化结果，年份超出快速路径范围时返回null
+     */
+    public String format(long millis, TimeZone zone) {
+        long local = millis + zone.getOffset(millis);
+        long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        int ymd = IntDates.ofEpochDay(epochDay);
+        int year = ymd / 10000;
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return null;
+        }
+        int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+        int milli = millisOfDay % 1000;
+        char[] buf = new char[milliIdx < 0 ? length : length + 2];
+        System.arraycopy(layout, 0, buf, 0, length);
+        put(buf, yearIdx, year, 4);
+        put(buf, monthIdx, ymd / 100 % 100, 2);
+        put(buf, dayIdx, ymd % 100, 2);
+        put(buf, hourIdx, millisOfDay / 3600000, 2);
+        put(buf, minuteIdx, millisOfDay / 60000 % 60, 2);
+        put(buf, secondIdx, millisOfDay / 1000 % 60, 2);
+        if (milliIdx < 0) {
+            return new String(buf);
+        }
+        int digits = milli < 10 ? 1 : milli < 100 ? 2 : 3;
+        put(buf, milliIdx, milli, digits);
+        return new String(buf, 0, milliIdx + digits);
+    }
+
+    /**
+     * 本地时间换算为纪元毫秒，附近一天内时区偏移有变化（夏令时切换等）时返回UNPARSED，交由Calendar处理
+     */
+    static long localToUtc(long local, TimeZone zone) {
+        int offset = zone.getOffset(local - zone.getRawOffset());
+        long utc = local - offset;
+        if (zone.getOffset(utc) != offset || zone.getOffset(utc - MILLIS_PER_DAY) != offset
+                || zone.getOffset(utc + MILLIS_PER_DAY) != offset) {
+            return UNPARSED;
+        }
+        return utc;
+    }
+
+    private static int digits(CharSequence text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static void put(char[] buf, int from, int value, int count) {
+        if (from < 0) {
+            return;
+        }
+        for (int i = from + count - 1; i >= from; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int fieldOf(char c) {
+        switch (c) {
+        case 'y':
+            return 0;
+        case 'M':
+            return 1;
+        case 'd':
+            return 2;
+        case 'H':
+            return 3;
+        case 'm':
+            return 4;
+        case 's':
+            return 5;
+        case 'S':
+            return 6;
+        default:
+            return -1;
+        }
+    }
+}
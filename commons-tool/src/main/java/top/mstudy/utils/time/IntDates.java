@@ -0,0 +1,188 @@
+package top.mstudy.utils.time;
+
+import java.time.LocalDate;
+import java.util.TimeZone;
+
+/**
+ * @author machao
+ * @description: 基于int的日期运算工具，日期统一用yyyyMMdd整数表示（如20220902），月份用yyyyMM整数表示，
+ * 全部按公历算术计算，不创建Calendar、Date等对象，适合批量计费周期等计算
+ * @date 2026-10-18
+ */
+public final class IntDates {
+
+    public static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final int[] MONTH_DAYS = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+    private IntDates() {
+    }
+
+    public static int of(int year, int month, int day) {
+        return year * 10000 + month * 100 + day;
+    }
+
+    public static int year(int yyyyMMdd) {
+        return yyyyMMdd / 10000;
+    }
+
+    public static int month(int yyyyMMdd) {
+        return yyyyMMdd / 100 % 100;
+    }
+
+    public static int day(int yyyyMMdd) {
+        return yyyyMMdd % 100;
+    }
+
+    /**
+     * 取日期所在的月份，20220902 ==> 202209
+     */
+    public static int yyyyMM(int yyyyMMdd) {
+        return yyyyMMdd / 100;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return year % 400 == 0 || (year % 100 != 0 && year % 4 == 0);
+    }
+
+    /**
+     * 获取某月的天数
+     */
+    public static int lengthOfMonth(int year, int month) {
+        if (month == 2 && isLeapYear(year)) {
+            return 29;
+        }
+        return MONTH_DAYS[month - 1];
+    }
+
+    /**
+     * 判断是否为合法的yyyyMMdd日期
+     */
+    public static boolean isValid(int yyyyMMdd) {
+        int month = month(yyyyMMdd);
+        int day = day(yyyyMMdd);
+        return yyyyMMdd > 0 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year(yyyyMMdd), month);
+    }
+
+    /**
+     * 日期换算为1970-01-01起的天数
+     */
+    public static long toEpochDay(int yyyyMMdd) {
+        return toEpochDay(year(yyyyMMdd), month(yyyyMMdd), day(yyyyMMdd));
+    }
+
+    /**
+     * 公历年月日换算为1970-01-01起的天数
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * 1970-01-01起的天数换算为yyyyMMdd日期
+     */
+    public static int ofEpochDay(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        return of(year, month, day);
+    }
+
+    /**
+     * 纪元毫秒换算为指定时区的yyyyMMdd日期
+     */
+    public static int ofEpochMillis(long millis, TimeZone zone) {
+        return ofEpochDay(Math.floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY));
+    }
+
+    /**
+     * 日期在指定时区当天开始时刻的纪元毫秒
+     */
+    public static long toEpochMillis(int yyyyMMdd, TimeZone zone) {
+        long millis = FixedDateLayout.localToUtc(toEpochDay(yyyyMMdd) * MILLIS_PER_DAY, zone);
+        if (millis != FixedDateLayout.UNPARSED) {
+            return millis;
+        }
+        // 当天附近有时区偏移变化，交给java.time处理零点不存在或重复的情况
+        return LocalDate.of(year(yyyyMMdd), month(yyyyMMdd), day(yyyyMMdd)).atStartOfDay(zone.toZoneId()).toInstant()
+                .toEpochMilli();
+    }
+
+    /**
+     * 获取指定日期days天后的日期
+     */
+    public static int addDays(int yyyyMMdd, int days) {
+        return ofEpochDay(toEpochDay(yyyyMMdd) + days);
+    }
+
+    /**
+     * 获取指定日期months月后的日期，日超出目标月的天数时取目标月最后一天，与Calendar.add一致
+     */
+    public static int addMonths(int yyyyMMdd, int months) {
+        long total = year(yyyyMMdd) * 12L + month(yyyyMMdd) - 1 + months;
+        int year = (int) Math.floorDiv(total, 12);
+        int month = (int) Math.floorMod(total, 12) + 1;
+        return of(year, month, Math.min(day(yyyyMMdd), lengthOfMonth(year, month)));
+    }
+
+    /**
+     * 获取指定日期years年后的日期，2月29日在非闰年取2月28日
+     */
+    public static int addYears(int yyyyMMdd, int years) {
+        return addMonths(yyyyMMdd, years * 12);
+    }
+
+    /**
+     * 星期几，1表示星期一，7表示星期日
+     */
+    public static int dayOfWeek(int yyyyMMdd) {
+        return (int) Math.floorMod(toEpochDay(yyyyMMdd) + 3, 7) + 1;
+    }
+
+    /**
+     * 日期所在月的第一天
+     */
+    public static int firstDayOfMonth(int yyyyMMdd) {
+        return yyyyMMdd / 100 * 100 + 1;
+    }
+
+    /**
+     * 日期所在月的最后一天
+     */
+    public static int lastDayOfMonth(int yyyyMMdd) {
+        return yyyyMMdd / 100 * 100 + lengthOfMonth(year(yyyyMMdd), month(yyyyMMdd));
+    }
+
+    /**
+     * 两个日期相差的天数，yyyyMMdd1 - yyyyMMdd2
+     */
+    public static int daysBetween(int yyyyMMdd1, int yyyyMMdd2) {
+        return (int) (toEpochDay(yyyyMMdd1) - toEpochDay(yyyyMMdd2));
+    }
+
+    /**
+     * 两个日期所在月份相差的月数，yyyyMMdd1 - yyyyMMdd2，不考虑日
+     */
+    public static int monthsBetween(int yyyyMMdd1, int yyyyMMdd2) {
+        return (year(yyyyMMdd1) - year(yyyyMMdd2)) * 12 + month(yyyyMMdd1) - month(yyyyMMdd2);
+    }
+
+    /**
+     * 两个日期所在年份相差的年数，yyyyMMdd1 - yyyyMMdd2，不考虑月和日
+     */
+    public static int yearsBetween(int yyyyMMdd1, int yyyyMMdd2) {
+        return year(yyyyMMdd1) - year(yyyyMMdd2);
+    }
+
+}
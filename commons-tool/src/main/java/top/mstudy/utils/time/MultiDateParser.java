@@ -0,0 +1,287 @@
+package top.mstudy.utils.time;
+
+import org.apache.commons.lang3.time.DateUtils;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * @author machao
+ * @description: 多格式日期解析器，结果与commons-lang3的DateUtils.parseDate(str, patterns)一致
+ * 由数字字段（y、M、d、H、m、s、S）和字面分隔符交替组成的格式串会被编译为“形状”，如yyyy-MM-dd HH:mm编译为 数字-数字-数字 数字:数字；
+ * 解析时只扫描一遍输入，按数字段与分隔符段的排列直接找到唯一对应的格式并计算结果，不逐个试错，也不抛出异常；
+ * 字段越界需要宽松进位等少数情况只用匹配到的那个格式交给commons-lang3解析；
+ * 无法编译为形状的格式串（如含MMM、E、相邻数字字段）在形状都不匹配时按注册顺序用commons-lang3解析
+ * @date 2026-10-18
+ */
+public class MultiDateParser {
+
+    private static final int MAX_TOKENS = 16;
+
+    private static final int MAX_DIGITS = 9;
+
+    private static final int MIN_YEAR = 1600;
+
+    private static final int MAX_YEAR = 9999;
+
+    private volatile Shape[] shapes = new Shape[0];
+
+    private volatile String[] genericPatterns = new String[0];
+
+    public MultiDateParser(String... patterns) {
+        for (String pattern : patterns) {
+            register(pattern);
+        }
+    }
+
+    /**
+     * 注册一个格式串，按注册顺序生效
+     *
+     * @param pattern 日期格式串
+     */
+    public synchronized void register(String pattern) {
+        Shape shape = Shape.compile(pattern);
+        if (shape != null) {
+            for (Shape exist : shapes) {
+                if (exist.sameShape(shape)) {
+                    return;
+                }
+            }
+            Shape[] copy = new Shape[shapes.length + 1];
+            System.arraycopy(shapes, 0, copy, 0, shapes.length);
+            copy[shapes.length] = shape;
+            shapes = copy;
+        } else {
+            String[] copy = new String[genericPatterns.length + 1];
+            System.arraycopy(genericPatterns, 0, copy, 0, genericPatterns.length);
+            copy[genericPatterns.length] = pattern;
+            genericPatterns = copy;
+        }
+    }
+
+    /**
+     * 解析日期字符串，无法解析时返回null
+     *
+     * @param text 日期字符串
+     * @return Date
+     */
+    public Date parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int len = text.length();
+        // 输入依次切分为数字段和非数字段，bounds[2i]、bounds[2i+1]为第i段的起止位置
+        int[] bounds = new int[MAX_TOKENS * 2];
+        int tokens = 0;
+        boolean needFallback = false;
+        int i = 0;
+        while (i < len) {
+            if (tokens == MAX_TOKENS) {
+                tokens = -1;
+                break;
+            }
+            boolean digit = isDigit(text.charAt(i));
+            int start = i;
+            while (i < len && isDigit(text.charAt(i)) == digit) {
+                char c = text.charAt(i);
+                // 含空白和非ASCII字符（如全角数字）的输入commons-lang3可能可以解析，匹配不到形状时交给它处理
+                if (c > 0x7f || Character.isWhitespace(c)) {
+                    needFallback = true;
+                }
+                i++;
+            }
+            bounds[tokens * 2] = start;
+            bounds[tokens * 2 + 1] = i;
+            tokens++;
+        }
+        if (tokens > 0) {
+            boolean startsWithDigit = isDigit(text.charAt(0));
+            for (Shape shape : shapes) {
+                if (shape.matches(text, bounds, tokens, startsWithDigit)) {
+                    Date date = shape.parse(text, bounds);
+                    return date != null ? date : parseWith(text, shape.pattern);
+                }
+            }
+        }
+        if (needFallback) {
+            Shape[] current = shapes;
+            String[] patterns = new String[current.length];
+            for (int j = 0; j < current.length; j++) {
+                patterns[j] = current[j].pattern;
+            }
+            Date date = parseWith(text, patterns);
+            if (date != null) {
+                return date;
+            }
+        }
+        return genericPatterns.length == 0 ? null : parseWith(text, genericPatterns);
+    }
+
+    private static Date parseWith(String text, String... patterns) {
+        if (patterns.length == 0) {
+            return null;
+        }
+        try {
+            return DateUtils.parseDate(text, patterns);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 格式串编译后的形状：数字字段与字面分隔符交替排列
+     */
+    private static final class Shape {
+
+        private final String pattern;
+
+        private final boolean startsWithField;
+
+        /**
+         * 每一段对应的字面文本，数字字段段为null
+         */
+        private final String[] literals;
+
+        /**
+         * 每一段对应的字段字母，字面段为0
+         */
+        private final char[] fields;
+
+        private Shape(String pattern, boolean startsWithField, String[] literals, char[] fields) {
+            this.pattern = pattern;
+            this.startsWithField = startsWithField;
+            this.literals = literals;
+            this.fields = fields;
+        }
+
+        private static Shape compile(String pattern) {
+            if (pattern == null || pattern.isEmpty()) {
+                return null;
+            }
+            List<String> literals = new ArrayList<String>();
+            StringBuilder fields = new StringBuilder();
+            boolean hasYear = false;
+            int len = pattern.length();
+            int i = 0;
+            while (i < len) {
+                char c = pattern.charAt(i);
+                int start = i;
+                if (isLetter(c)) {
+                    while (i < len && pattern.charAt(i) == c) {
+                        i++;
+                    }
+                    // yy为两位年份、MMM为月份名称，都需要commons-lang3处理
+                    if ("yMdHmsS".indexOf(c) < 0 || (c == 'y' && i - start < 3) || (c == 'M' && i - start > 2)) {
+                        return null;
+                    }
+                    // 相邻的数字字段需要按宽度切分，不编译为形状
+                    if (!literals.isEmpty() && literals.get(literals.size() - 1) == null) {
+                        return null;
+                    }
+                    hasYear |= c == 'y';
+                    literals.add(null);
+                    fields.append(c);
+                } else {
+                    while (i < len && !isLetter(pattern.charAt(i))) {
+                        char l = pattern.charAt(i);
+                        if (l == '\'' || isDigit(l)) {
+                            return null;
+                        }
+                        i++;
+                    }
+                    literals.add(pattern.substring(start, i));
+                    fields.append((char) 0);
+                }
+            }
+            if (!hasYear || literals.size() > MAX_TOKENS) {
+                return null;
+            }
+            return new Shape(pattern, literals.get(0) == null, literals.toArray(new String[0]),
+                    fields.toString().toCharArray());
+        }
+
+        private boolean sameShape(Shape other) {
+            return startsWithField == other.startsWithField && Arrays.equals(literals, other.literals);
+        }
+
+        private boolean matches(String text, int[] bounds, int tokens, boolean startsWithDigit) {
+            if (tokens != literals.length || startsWithDigit != startsWithField) {
+                return false;
+            }
+            for (int i = 0; i < tokens; i++) {
+                String literal = literals[i];
+                if (literal != null && (bounds[i * 2 + 1] - bounds[i * 2] != literal.length() || !text
+                        .regionMatches(bounds[i * 2], literal, 0, literal.length()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 按形状计算结果，需要宽松进位、年份超出范围或时区偏移在附近变化时返回null
+         */
+        private Date parse(String text, int[] bounds) {
+            int year = -1, month = 1, day = 1, hour = 0, minute = 0, second = 0, milli = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] == 0) {
+                    continue;
+                }
+                int from = bounds[i * 2];
+                int to = bounds[i * 2 + 1];
+                if (to - from > MAX_DIGITS) {
+                    return null;
+                }
+                int value = 0;
+                for (int j = from; j < to; j++) {
+                    value = value * 10 + (text.charAt(j) - '0');
+                }
+                switch (fields[i]) {
+                case 'y':
+                    year = value;
+                    break;
+                case 'M':
+                    month = value;
+                    break;
+                case 'd':
+                    day = value;
+                    break;
+                case 'H':
+                    hour = value;
+                    break;
+                case 'm':
+                    minute = value;
+                    break;
+                case 's':
+                    second = value;
+                    break;
+                default:
+                    milli = value;
+                    break;
+                }
+            }
+            if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 || day < 1
+                    || day > IntDates.lengthOfMonth(year, month) || hour > 23 || minute > 59 || second > 59
+                    || milli > 999) {
+                return null;
+            }
+            long local = IntDates.toEpochDay(year, month, day) * IntDates.MILLIS_PER_DAY + hour * 3600000L
+                    + minute * 60000L + second * 1000L + milli;
+            long millis = FixedDateLayout.localToUtc(local, TimeZone.getDefault());
+            return millis == FixedDateLayout.UNPARSED ? null : new Date(millis);
+        }
+
+        private static boolean isLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+    }
+
+}
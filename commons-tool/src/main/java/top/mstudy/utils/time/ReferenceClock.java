@@ -0,0 +1,12 @@
+package top.mstudy.utils.time;
+
+/**
+ * @author machao
+ * @description: RemoteTimeHandler使用的参考时钟，如NTP服务、时间服务接口等，测试时可用本地时钟代替
+ * @date 2026-10-18
+ */
+public interface ReferenceClock {
+
+    long currentTimeMillis() throws Exception;
+
+}
@@ -0,0 +1,198 @@
+package top.mstudy.utils.time;
+
+import lombok.extern.slf4j.Slf4j;
+import top.mstudy.utils.StringUtils;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author machao
+ * @description: 远程时间处理器，后台按固定间隔与参考时钟同步，记录偏移和本地时钟的快慢，
+ * 两次同步之间基于System.nanoTime推算补偿后的时间，获取时间时不会发生网络调用，且返回值单调不减
+ * 参考时钟通过time.reference-clock配置实现类，同步间隔通过time.sync-interval配置，单位毫秒
+ * @date 2026-10-18
+ */
+@Slf4j
+public class RemoteTimeHandler implements ITimeHandler, Closeable {
+
+    public static final long DEFAULT_SYNC_INTERVAL = 60000L;
+
+    /**
+     * 本地时钟快慢补偿的上限，超出视为同步异常，按该上限补偿
+     */
+    private static final double MAX_RATE_DEVIATION = 500e-6;
+
+    /**
+     * 估算时钟快慢要求的同步间隔与往返耗时的最小倍数
+     */
+    private static final long RATE_SAMPLE_FACTOR = 2000L;
+
+    private final ReferenceClock referenceClock;
+
+    private final long syncInterval;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong lastServed = new AtomicLong(Long.MIN_VALUE);
+
+    private volatile Base base;
+
+    private volatile long lastSyncLatencyNanos;
+
+    private volatile long lastDriftMillis;
+
+    private volatile long lastSyncTime;
+
+    private volatile long syncCount;
+
+    private volatile long failureCount;
+
+    public RemoteTimeHandler() throws Exception {
+        this(new TimeHandlerConfig());
+    }
+
+    public RemoteTimeHandler(TimeHandlerConfig config) throws Exception {
+        this(newReferenceClock(config.getReferenceClock()), config.getSyncInterval());
+    }
+
+    public RemoteTimeHandler(ReferenceClock referenceClock, long syncInterval) {
+        if (syncInterval <= 0) {
+            throw new IllegalArgumentException("同步间隔必须大于0：" + syncInterval);
+        }
+        this.referenceClock = referenceClock;
+        this.syncInterval = syncInterval;
+        // 首次同步完成前使用本地时间
+        this.base = new Base(System.currentTimeMillis(), System.nanoTime(), 1.0D);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "remote-time-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::sync, 0, syncInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long currentTimeMillis(boolean isLocal) {
+        if (isLocal) {
+            return System.currentTimeMillis();
+        }
+        long now = base.at(System.nanoTime());
+        return lastServed.accumulateAndGet(now, Math::max);
+    }
+
+    /**
+     * 与参考时钟同步一次，以请求往返的中点作为参考时间对应的本地时刻
+     */
+    public synchronized void sync() {
+        try {
+            long start = System.nanoTime();
+            long refMillis = referenceClock.currentTimeMillis();
+            long end = System.nanoTime();
+            long mid = start + (end - start) / 2;
+
+            Base prev = base;
+            long drift = refMillis - prev.at(mid);
+            // 往返耗时相对同步间隔足够小时才重新估算本地时钟快慢，否则沿用上次的估算
+            double rate = prev.rate;
+            if (syncCount > 0 && mid - prev.nanos >= (end - start) * RATE_SAMPLE_FACTOR) {
+                rate = (refMillis - prev.millis) * 1000000D / (mid - prev.nanos);
+                rate = Math.max(1.0D - MAX_RATE_DEVIATION, Math.min(1.0D + MAX_RATE_DEVIATION, rate));
+            }
+            base = new Base(refMillis, mid, rate);
+
+            lastSyncLatencyNanos = end - start;
+            lastDriftMillis = drift;
+            lastSyncTime = System.currentTimeMillis();
+            syncCount++;
+        } catch (Throwable e) {
+            failureCount++;
+            log.warn("与参考时钟同步失败，继续使用上次同步结果：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 最近一次同步的请求往返耗时，单位纳秒
+     */
+    public long getLastSyncLatencyNanos() {
+        return lastSyncLatencyNanos;
+    }
+
+    /**
+     * 最近一次同步时，参考时钟与本地推算时间的差值，单位毫秒
+     */
+    public long getLastDriftMillis() {
+        return lastDriftMillis;
+    }
+
+    /**
+     * 当前补偿后的时间与本地系统时间的差值，单位毫秒
+     */
+    public long getOffsetMillis() {
+        return base.at(System.nanoTime()) - System.currentTimeMillis();
+    }
+
+    /**
+     * 当前使用的本地时钟速率补偿系数，1表示不补偿
+     */
+    public double getRate() {
+        return base.rate;
+    }
+
+    public long getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * 停止后台同步线程，之后按最后一次同步结果继续推算时间
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static ReferenceClock newReferenceClock(String className) throws Exception {
+        if (StringUtils.isBlank(className)) {
+            return System::currentTimeMillis;
+        }
+        return (ReferenceClock) Class.forName(className).newInstance();
+    }
+
+    /**
+     * 同步基准：参考时间millis对应本地nanoTime为nanos，之后按rate推算
+     */
+    private static final class Base {
+
+        private final long millis;
+
+        private final long nanos;
+
+        private final double rate;
+
+        private Base(long millis, long nanos, double rate) {
+            this.millis = millis;
+            this.nanos = nanos;
+            this.rate = rate;
+        }
+
+        private long at(long nanoTime) {
+            return millis + (long) ((nanoTime - nanos) * rate / 1000000D);
+        }
+    }
+
+}
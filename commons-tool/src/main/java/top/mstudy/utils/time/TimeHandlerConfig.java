@@ -13,4 +13,19 @@ import org.springframework.stereotype.Component;
 
     private String handler;
 
+    /**
+     * 缓存时钟的刷新精度，单位毫秒，仅对CachedTimeHandler生效
+     */
+    private long resolution = CachedTimeHandler.DEFAULT_RESOLUTION;
+
+    /**
+     * 参考时钟实现类，仅对RemoteTimeHandler生效，为空时使用本地时钟
+     */
+    private String referenceClock;
+
+    /**
+     * 与参考时钟的同步间隔，单位毫秒，仅对RemoteTimeHandler生效
+     */
+    private long syncInterval = RemoteTimeHandler.DEFAULT_SYNC_INTERVAL;
+
 }
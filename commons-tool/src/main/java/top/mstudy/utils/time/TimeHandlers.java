@@ -0,0 +1,166 @@
+package top.mstudy.utils.time;
+
+import lombok.extern.slf4j.Slf4j;
+import top.mstudy.utils.SpringContextHolder;
+import top.mstudy.utils.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * @author machao
+ * @description: 时间处理器的持有者，首次使用时才解析处理器，不依赖Spring容器启动
+ * 解析顺序：Spring容器中的TimeHandlerConfig（容器已启动时）、系统属性time.handler等、
+ * ServiceLoader注册的ITimeHandler实现、LocalTimeHandler；运行期间可通过set线程安全地替换；
+ * 容器注入前解析出的处理器在SpringContextHolder注入容器时被清除，之后按容器中的配置重新解析
+ * @date 2026-10-18
+ */
+@Slf4j
+public final class TimeHandlers {
+
+    public static final String HANDLER_PROPERTY = "time.handler";
+
+    public static final String RESOLUTION_PROPERTY = "time.resolution";
+
+    public static final String REFERENCE_CLOCK_PROPERTY = "time.reference-clock";
+
+    public static final String SYNC_INTERVAL_PROPERTY = "time.sync-interval";
+
+    private static final Object LOCK = new Object();
+
+    private static volatile ITimeHandler handler;
+
+    /**
+     * 当前处理器是否在Spring容器注入前解析得到
+     */
+    private static boolean resolvedWithoutContext;
+
+    private TimeHandlers() {
+    }
+
+    /**
+     * 获取当前使用的时间处理器，未设置时按解析顺序创建
+     *
+     * @return ITimeHandler
+     */
+    public static ITimeHandler get() {
+        ITimeHandler current = handler;
+        if (current != null) {
+            return current;
+        }
+        synchronized (LOCK) {
+            if (handler == null) {
+                resolvedWithoutContext = !SpringContextHolder.isContextInjected();
+                handler = resolve();
+            }
+            return handler;
+        }
+    }
+
+    /**
+     * 替换时间处理器，被替换的处理器如持有后台线程会被关闭
+     *
+     * @param timeHandler 新的时间处理器
+     */
+    public static void set(ITimeHandler timeHandler) {
+        if (timeHandler == null) {
+            throw new IllegalArgumentException("时间处理器不能为空！");
+        }
+        ITimeHandler old;
+        synchronized (LOCK) {
+            old = handler;
+            handler = timeHandler;
+            resolvedWithoutContext = false;
+        }
+        close(old, timeHandler);
+    }
+
+    /**
+     * 清除当前的时间处理器，下次使用时重新解析，如修改系统属性后需要按新的配置创建
+     */
+    public static void reset() {
+        ITimeHandler old;
+        synchronized (LOCK) {
+            old = handler;
+            handler = null;
+            resolvedWithoutContext = false;
+        }
+        close(old, null);
+    }
+
+    /**
+     * Spring容器注入后调用，容器注入前按系统属性解析的处理器会被清除，通过set设置的处理器保持不变
+     */
+    public static void contextInjected() {
+        ITimeHandler old;
+        synchronized (LOCK) {
+            if (!resolvedWithoutContext) {
+                return;
+            }
+            old = handler;
+            handler = null;
+            resolvedWithoutContext = false;
+        }
+        close(old, null);
+    }
+
+    private static ITimeHandler resolve() {
+        TimeHandlerConfig config = loadConfig();
+        if (StringUtils.isNonBlank(config.getHandler())) {
+            try {
+                return newTimeHandler(Class.forName(config.getHandler()), config);
+            } catch (ClassNotFoundException e) {
+                log.error(e.getMessage() + " 未找到，强制使用本地时间处理器！");
+                return new LocalTimeHandler();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        Iterator<ITimeHandler> it = ServiceLoader.load(ITimeHandler.class).iterator();
+        if (it.hasNext()) {
+            return it.next();
+        }
+        return new LocalTimeHandler();
+    }
+
+    private static TimeHandlerConfig loadConfig() {
+        if (SpringContextHolder.isContextInjected()) {
+            try {
+                return SpringContextHolder.getBean(TimeHandlerConfig.class);
+            } catch (Exception e) {
+                log.debug("Spring容器中未找到TimeHandlerConfig，使用系统属性配置：{}", e.getMessage());
+            }
+        }
+        TimeHandlerConfig config = new TimeHandlerConfig();
+        config.setHandler(System.getProperty(HANDLER_PROPERTY));
+        config.setReferenceClock(System.getProperty(REFERENCE_CLOCK_PROPERTY));
+        config.setResolution(Long.getLong(RESOLUTION_PROPERTY, config.getResolution()));
+        config.setSyncInterval(Long.getLong(SYNC_INTERVAL_PROPERTY, config.getSyncInterval()));
+        return config;
+    }
+
+    /**
+     * 实例化时间处理器，处理器提供TimeHandlerConfig参数的构造方法时优先使用，以便读取精度等配置
+     */
+    private static ITimeHandler newTimeHandler(Class<?> clz, TimeHandlerConfig config) throws Exception {
+        try {
+            return (ITimeHandler) clz.getConstructor(TimeHandlerConfig.class).newInstance(config);
+        } catch (NoSuchMethodException e) {
+            return (ITimeHandler) clz.newInstance();
+        }
+    }
+
+    private static void close(ITimeHandler old, ITimeHandler current) {
+        if (old == current || !(old instanceof Closeable)) {
+            return;
+        }
+        try {
+            ((Closeable) old).close();
+        } catch (IOException e) {
+            log.warn("关闭时间处理器失败：{}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package top.mstudy.utils.time;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author machao
+ * @description: 基于java.time时区规则的偏移查询，每个时区缓存一份ZoneRules及最近两次查询所在的偏移切换区间，
+ * 比较分处夏令时内外的两个时刻时两次查询都能命中；命中区间时直接返回偏移，不创建任何对象；固定偏移的时区区间为全时间轴；
+ * TimeZone只有ID属于tzdb且规则与同ID的系统时区一致时才使用缓存，自定义时区（如new SimpleTimeZone(3600000, "MyZone")、
+ * 沿用tzdb ID但规则不同的时区）每次按TimeZone.getOffset(millis)计算；
+ * 系统时区（ZoneInfo）只在1900年至2036年之间与java.time规则一致，按TimeZone取得的实例在此范围外也按TimeZone.getOffset计算，
+ * 与Calendar的结果保持一致
+ * @date 2026-10-18
+ */
+public final class ZoneOffsets {
+
+    private static final ConcurrentMap<String, ZoneOffsets> CACHE = new ConcurrentHashMap<String, ZoneOffsets>();
+
+    /**
+     * 1900-01-01T00:00Z，ZoneInfo不保存更早的切换，LMT等早期偏移与java.time规则不同
+     */
+    private static final long ZONE_INFO_FROM = -2208988800000L;
+
+    /**
+     * 2037-01-01T00:00Z，ZoneInfo此后按最后一条夏令时规则推算，与java.time保存的切换不一定相同
+     */
+    private static final long ZONE_INFO_UNTIL = 2114380800000L;
+
+    private static final Set<String> TZDB_IDS = Collections.unmodifiableSet(ZoneId.getAvailableZoneIds());
+
+    private final ZoneRules rules;
+
+    /**
+     * 按ID缓存时为同ID的系统时区，用于比对传入TimeZone的规则；不走缓存时为传入的TimeZone本身
+     */
+    private final TimeZone zone;
+
+    private volatile Window window;
+
+    private volatile Window previous;
+
+    private ZoneOffsets(ZoneRules rules, TimeZone zone) {
+        this.rules = rules;
+        this.zone = zone;
+        if (rules != null && rules.isFixedOffset()) {
+            int offset = rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000;
+            this.window = new Window(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+        }
+    }
+
+    public static ZoneOffsets of(ZoneId zone) {
+        ZoneOffsets offsets = CACHE.get(zone.getId());
+        if (offsets == null) {
+            offsets = CACHE.computeIfAbsent(zone.getId(), id -> new ZoneOffsets(zone.getRules(), null));
+        }
+        return offsets;
+    }
+
+    public static ZoneOffsets of(TimeZone zone) {
+        String id = zone.getID();
+        if (TZDB_IDS.contains(id)) {
+            ZoneOffsets offsets = CACHE.get(id);
+            if (offsets == null || offsets.zone == null) {
+                offsets = cacheSystemZone(id);
+            }
+            if (offsets != null && isSystemRules(zone, offsets.zone)) {
+                return offsets;
+            }
+        }
+        return new ZoneOffsets(null, zone);
+    }
+
+    private static ZoneOffsets cacheSystemZone(String id) {
+        TimeZone system = TimeZone.getTimeZone(id);
+        ZoneRules rules;
+        try {
+            rules = system.toZoneId().getRules();
+        } catch (DateTimeException e) {
+            return null;
+        }
+        ZoneOffsets offsets = new ZoneOffsets(rules, system);
+        // of(ZoneId)放入的条目没有可比对的系统时区，替换为带系统时区的条目
+        CACHE.put(id, offsets);
+        return offsets;
+    }
+
+    /**
+     * 传入的时区是否为系统时区（ZoneInfo）或SimpleTimeZone，且规则与同ID的系统时区一致
+     */
+    private static boolean isSystemRules(TimeZone zone, TimeZone system) {
+        return (zone.getClass() == system.getClass() || zone instanceof SimpleTimeZone) && system.hasSameRules(zone);
+    }
+
+    /**
+     * 纪元毫秒对应的时区偏移，单位毫秒
+     *
+     * @param millis 纪元毫秒
+     * @return int
+     */
+    public int offsetAt(long millis) {
+        if (rules == null) {
+            return zone.getOffset(millis);
+        }
+        Window w = window;
+        if (w != null && millis >= w.from && millis < w.until) {
+            return w.offset;
+        }
+        Window p = previous;
+        if (p != null && millis >= p.from && millis < p.until) {
+            return p.offset;
+        }
+        if (zone != null && (millis < ZONE_INFO_FROM || millis >= ZONE_INFO_UNTIL)) {
+            return zone.getOffset(millis);
+        }
+        Instant instant = Instant.ofEpochMilli(millis);
+        int offset = rules.getOffset(instant).getTotalSeconds() * 1000;
+        // 切换时刻都是整秒，往后挪1纳秒使恰好位于切换时刻的查询取到该次切换
+        ZoneOffsetTransition prev = rules.previousTransition(instant.plusNanos(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        long from = prev == null ? Long.MIN_VALUE : prev.getInstant().toEpochMilli();
+        long until = next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli();
+        if (zone != null) {
+            from = Math.max(from, ZONE_INFO_FROM);
+            until = Math.min(until, ZONE_INFO_UNTIL);
+        }
+        previous = w;
+        window = new Window(from, until, offset);
+        return offset;
+    }
+
+    /**
+     * 纪元毫秒对应的本地时间（按本地时区折算后的纪元毫秒）
+     *
+     * @param millis 纪元毫秒
+     * @return long
+     */
+    public long toLocal(long millis) {
+        return millis + offsetAt(millis);
+    }
+
+    private static final class Window {
+
+        private final long from;
+
+        private final long until;
+
+        private final int offset;
+
+        private Window(long from, long until, int offset) {
+            this.from = from;
+            this.until = until;
+            this.offset = offset;
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package top.mstudy.utils.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author machao
+ * @description: 查表编解码与JDK Base64的结果一致，包括URL安全字母表和非法填充
+ * @date 2026-10-18
+ */
+class Base64CodecTest {
+
+    @Test
+    void matchesJdkBase64() {
+        Random random = new Random(4);
+        for (int length = 0; length < 200; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String basic = Base64.getEncoder().encodeToString(data);
+            String url = Base64.getUrlEncoder().encodeToString(data);
+            assertEquals(basic, Base64Codec.encode(data));
+            assertEquals(url, Base64Codec.encode(data, true));
+            assertEquals(basic.length(), Base64Codec.encodedLength(length));
+            assertArrayEquals(data, Base64Codec.decode(basic));
+            assertArrayEquals(data, Base64Codec.decode(url, true));
+        }
+    }
+
+    @Test
+    void rejectsWhatJdkRejects() {
+        for (String invalid : new String[] { "ab!c", "ab=c", "a===", "=abc", "ab-_", "ab cd", "YQ==YQ==" }) {
+            assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(invalid), invalid);
+            assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode(invalid), invalid);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package top.mstudy.utils.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author machao
+ * @description: 十六进制输入输出流与Hex一次性编解码的结果一致，下层流每次只返回少量字节时也能正确拼接
+ * @date 2026-10-18
+ */
+class HexStreamsTest {
+
+    @Test
+    void outputMatchesHexEncode() throws IOException {
+        Random random = new Random(5);
+        byte[] data = new byte[20000];
+        random.nextBytes(data);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HexOutputStream out = new HexOutputStream(bytes, true);
+        int pos = 0;
+        while (pos < data.length) {
+            if (random.nextInt(4) == 0) {
+                out.write(data[pos++]);
+            } else {
+                int len = Math.min(data.length - pos, random.nextInt(10000));
+                out.write(data, pos, len);
+                pos += len;
+            }
+        }
+        out.flush();
+        assertEquals(Hex.encode(data, true), new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void inputMatchesHexDecodeWithShortReads() throws IOException {
+        Random random = new Random(6);
+        byte[] data = new byte[20000];
+        random.nextBytes(data);
+        byte[] hex = Hex.encode(data).getBytes(StandardCharsets.US_ASCII);
+        HexInputStream in = new HexInputStream(new ShortReads(new ByteArrayInputStream(hex), random));
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        byte[] buffer = new byte[9000];
+        while (true) {
+            if (random.nextInt(4) == 0) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                decoded.write(b);
+            } else {
+                int n = in.read(buffer, 0, 1 + random.nextInt(buffer.length));
+                if (n < 0) {
+                    break;
+                }
+                decoded.write(buffer, 0, n);
+            }
+        }
+        assertArrayEquals(data, decoded.toByteArray());
+    }
+
+    @Test
+    void skipAndInvalidInput() throws IOException {
+        HexInputStream in = new HexInputStream(new ByteArrayInputStream(ascii("00010203ff")));
+        assertEquals(3, in.skip(3));
+        assertEquals(0x03, in.read());
+        assertEquals(0xff, in.read());
+        assertEquals(-1, in.read());
+        HexInputStream odd = new HexInputStream(new ByteArrayInputStream(ascii("abc")));
+        assertEquals(0xab, odd.read());
+        assertThrows(IOException.class, odd::read);
+        assertThrows(IOException.class, () -> new HexInputStream(new ByteArrayInputStream(ascii("zz"))).read());
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 每次最多返回随机个字节的输入流，用于覆盖奇数个字符跨两次读取的情况
+     */
+    private static final class ShortReads extends FilterInputStream {
+
+        private final Random random;
+
+        private ShortReads(InputStream in, Random random) {
+            super(in);
+            this.random = random;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(7)));
+        }
+    }
+}
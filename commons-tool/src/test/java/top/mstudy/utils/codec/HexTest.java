@@ -0,0 +1,53 @@
+package top.mstudy.utils.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: 查表编解码与String.format的十六进制结果一致，非法输入抛出IllegalArgumentException
+ * @date 2026-10-18
+ */
+class HexTest {
+
+    @Test
+    void matchesStringFormat() {
+        Random random = new Random(3);
+        for (int length = 0; length < 200; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            StringBuilder expected = new StringBuilder();
+            for (byte b : data) {
+                expected.append(String.format("%02x", b));
+            }
+            assertEquals(expected.toString(), Hex.encode(data));
+            assertEquals(expected.toString().toUpperCase(), Hex.encode(data, true));
+            assertArrayEquals(data, Hex.decode(expected));
+            assertArrayEquals(data, Hex.decode(expected.toString().toUpperCase()));
+            assertTrue(Hex.isHex(expected));
+
+            ByteBuffer encoded = ByteBuffer.allocate(length * 2);
+            Hex.encode(ByteBuffer.wrap(data), encoded, false);
+            encoded.flip();
+            ByteBuffer decoded = ByteBuffer.allocate(length);
+            assertEquals(length, Hex.decode(encoded, decoded));
+            assertArrayEquals(data, decoded.array());
+        }
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        for (String invalid : new String[] { "a", "0g", "zz", "0 ", "１２" }) {
+            assertFalse(Hex.isHex(invalid), invalid);
+            assertThrows(IllegalArgumentException.class, () -> Hex.decode(invalid), invalid);
+        }
+    }
+}
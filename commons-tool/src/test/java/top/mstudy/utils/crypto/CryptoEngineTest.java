@@ -0,0 +1,289 @@
+package top.mstudy.utils.crypto;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.mstudy.utils.DescUtils;
+import top.mstudy.utils.codec.Hex;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.DESKeySpec;
+import javax.crypto.spec.IvParameterSpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: DES加解密与每次新建Cipher的结果一致，DescUtils的十六进制密文与调整前相同，AES_GCM可往返且能发现篡改
+ * @date 2026-10-18
+ */
+class CryptoEngineTest {
+
+    @TempDir
+    Path dir;
+
+    private static final String KEY = "DESCPWDS";
+
+    @Test
+    void desMatchesFreshCipher() throws Exception {
+        CryptoEngine engine = CryptoEngine.des(KEY);
+        Random random = new Random(1);
+        for (int length = 0; length < 300; length++) {
+            byte[] plain = new byte[length];
+            random.nextBytes(plain);
+            byte[] expected = reference(Cipher.ENCRYPT_MODE, plain);
+            assertArrayEquals(expected, engine.encrypt(plain), String.valueOf(length));
+            assertArrayEquals(plain, engine.decrypt(expected), String.valueOf(length));
+        }
+        byte[] padded = new byte[40];
+        random.nextBytes(padded);
+        assertArrayEquals(reference(Cipher.ENCRYPT_MODE, Arrays.copyOfRange(padded, 5, 30)),
+                engine.encrypt(padded, 5, 25));
+    }
+
+    @Test
+    void descUtilsKeepsHexFormat() throws Exception {
+        for (String text : new String[] { "", "a", "12345678", "中文密码", "password-with-more-than-one-block" }) {
+            String expected = toHexString(reference(Cipher.ENCRYPT_MODE, text.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(expected, DescUtils.strToDesc(text), text);
+            // descToStr与调整前一样按平台默认字符集还原字符串
+            String decoded = new String(text.getBytes(StandardCharsets.UTF_8));
+            assertEquals(decoded, DescUtils.descToStr(expected), text);
+            assertEquals(decoded, DescUtils.descToStr(expected.toUpperCase()), text);
+        }
+    }
+
+    @Test
+    void concurrentDesRoundTrips() throws Exception {
+        CryptoEngine engine = CryptoEngine.des(KEY);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 2000; i++) {
+                        byte[] plain = new byte[random.nextInt(100)];
+                        random.nextBytes(plain);
+                        byte[] encrypted = engine.encrypt(plain);
+                        assertArrayEquals(reference(Cipher.ENCRYPT_MODE, plain), encrypted);
+                        assertArrayEquals(plain, engine.decrypt(encrypted));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aesGcmRoundTripAndTamper() throws Exception {
+        byte[] key = new byte[16];
+        new Random(2).nextBytes(key);
+        CryptoEngine engine = CryptoEngine.aesGcm(key);
+        byte[] plain = "AES-GCM明文".getBytes(StandardCharsets.UTF_8);
+        byte[] first = engine.encrypt(plain);
+        byte[] second = engine.encrypt(plain);
+        // 每次加密使用新的随机向量
+        assertFalse(Arrays.equals(first, second));
+        assertArrayEquals(plain, engine.decrypt(first));
+        assertArrayEquals(plain, engine.decrypt(second));
+        first[first.length - 1] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> engine.decrypt(first));
+        assertThrows(InvalidKeyException.class, () -> CryptoEngine.aesGcm(new byte[15]));
+    }
+
+    @Test
+    void streamsMatchByteArrayResults() throws Exception {
+        CryptoEngine des = CryptoEngine.des(KEY);
+        byte[] key = new byte[32];
+        new Random(3).nextBytes(key);
+        CryptoEngine gcm = CryptoEngine.aesGcm(key);
+        Random random = new Random(4);
+        for (int length : new int[] { 0, 7, 8, 65535, 65536, 200001 }) {
+            byte[] plain = new byte[length];
+            random.nextBytes(plain);
+            ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+            assertEquals(length, des.encrypt(new ByteArrayInputStream(plain), encrypted));
+            assertArrayEquals(des.encrypt(plain), encrypted.toByteArray());
+            ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+            des.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted);
+            assertArrayEquals(plain, decrypted.toByteArray());
+
+            // DescUtils的十六进制流与strToDesc的十六进制密文相同
+            ByteArrayOutputStream hex = new ByteArrayOutputStream();
+            DescUtils.encrypt(new ByteArrayInputStream(plain), hex, true);
+            assertEquals(Hex.encode(des.encrypt(plain)), new String(hex.toByteArray(), StandardCharsets.US_ASCII));
+            decrypted.reset();
+            DescUtils.decrypt(new ByteArrayInputStream(hex.toByteArray()), decrypted, true);
+            assertArrayEquals(plain, decrypted.toByteArray());
+
+            encrypted.reset();
+            gcm.encrypt(new ByteArrayInputStream(plain), encrypted);
+            // 8字节前缀，每段16字节认证标签，空明文也有一个最后段
+            int segments = Math.max(1, (length + CryptoEngine.SEGMENT_SIZE - 1) / CryptoEngine.SEGMENT_SIZE);
+            assertEquals(8 + length + 16 * segments, encrypted.size());
+            decrypted.reset();
+            gcm.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted);
+            assertArrayEquals(plain, decrypted.toByteArray());
+        }
+    }
+
+    @Test
+    void largeGcmStreamUsesBoundedMemory() throws Exception {
+        byte[] key = new byte[16];
+        new Random(5).nextBytes(key);
+        CryptoEngine gcm = CryptoEngine.aesGcm(key);
+        long length = (48L << 20) + 12345;
+        Path file = Files.createTempFile(dir, "gcm", ".bin");
+        MessageDigest plainDigest = MessageDigest.getInstance("SHA-256");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            assertEquals(length, gcm.encrypt(new DigestInputStream(new PatternStream(length), plainDigest), out));
+        }
+        MessageDigest decryptedDigest = MessageDigest.getInstance("SHA-256");
+        long allocated = allocatedBytes();
+        try (InputStream in = Files.newInputStream(file)) {
+            assertEquals(Files.size(file), gcm.decrypt(in, new DigestOutputStream(new NullStream(), decryptedDigest)));
+        }
+        allocated = allocatedBytes() - allocated;
+        assertArrayEquals(plainDigest.digest(), decryptedDigest.digest());
+        // JDK的GCM实现每段会复制一次密文，分配量应与长度成线性而不是平方关系（不支持统计时allocatedBytes恒为0）
+        assertTrue(allocated < 4 * length, "allocated " + allocated);
+    }
+
+    @Test
+    void gcmSegmentsCannotBeReorderedOrTruncated() throws Exception {
+        byte[] key = new byte[16];
+        new Random(6).nextBytes(key);
+        CryptoEngine gcm = CryptoEngine.aesGcm(key);
+        byte[] plain = new byte[CryptoEngine.SEGMENT_SIZE * 3];
+        new Random(7).nextBytes(plain);
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        gcm.encrypt(new ByteArrayInputStream(plain), encrypted);
+        byte[] sealed = encrypted.toByteArray();
+        int segment = CryptoEngine.SEGMENT_SIZE + 16;
+
+        // 截断在分段边界：剩下的最后一段不是按最后一段加密的
+        byte[] truncated = Arrays.copyOf(sealed, 8 + segment * 2);
+        assertThrows(AEADBadTagException.class, () -> decryptStream(gcm, truncated));
+        // 调换前两段
+        byte[] swapped = sealed.clone();
+        System.arraycopy(sealed, 8, swapped, 8 + segment, segment);
+        System.arraycopy(sealed, 8 + segment, swapped, 8, segment);
+        assertThrows(AEADBadTagException.class, () -> decryptStream(gcm, swapped));
+        byte[] flipped = sealed.clone();
+        flipped[8 + segment * 2 + 5] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> decryptStream(gcm, flipped));
+        assertThrows(AEADBadTagException.class, () -> decryptStream(gcm, Arrays.copyOf(sealed, 8 + 15)));
+        assertArrayEquals(plain, decryptStream(gcm, sealed));
+    }
+
+    private static byte[] decryptStream(CryptoEngine engine, byte[] sealed) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.decrypt(new ByteArrayInputStream(sealed), out);
+        return out.toByteArray();
+    }
+
+    private static long allocatedBytes() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof ThreadMXBean) {
+            return ((ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * 按位置生成内容的输入流，不占用与长度成比例的内存
+     */
+    private static final class PatternStream extends InputStream {
+
+        private final long length;
+
+        private long pos;
+
+        private PatternStream(long length) {
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            return pos < length ? (int) (pos++ * 31 >>> 3) & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos >= length) {
+                return -1;
+            }
+            int n = (int) Math.min(len, length - pos);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) (pos++ * 31 >>> 3);
+            }
+            return n;
+        }
+    }
+
+    private static final class NullStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    /**
+     * 调整前DescUtils的实现：每次新建Cipher，向量与密钥相同
+     */
+    private static byte[] reference(int mode, byte[] data) throws Exception {
+        Cipher cipher = Cipher.getInstance("DES/CBC/PKCS5Padding");
+        DESKeySpec desKeySpec = new DESKeySpec(KEY.getBytes("UTF-8"));
+        cipher.init(mode, SecretKeyFactory.getInstance("DES").generateSecret(desKeySpec),
+                new IvParameterSpec(KEY.getBytes("UTF-8")));
+        return cipher.doFinal(data);
+    }
+
+    private static String toHexString(byte[] b) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte value : b) {
+            String plainText = Integer.toHexString(0xff & value);
+            if (plainText.length() < 2) {
+                plainText = "0" + plainText;
+            }
+            hexString.append(plainText);
+        }
+        return hexString.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package top.mstudy.utils.digest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: 批量摘要的结果与输入顺序一致，单个元素失败只影响自身，关闭流时取消在途的切片且不再读取输入
+ * @date 2026-10-18
+ */
+class BatchDigestsTest {
+
+    @TempDir
+    Path dir;
+
+    private final ExecutorService executor = BatchDigests.newExecutor(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resultsKeepInputOrder() {
+        List<String> sources = IntStream.range(0, 10000).mapToObj(i -> "src-" + i).collect(Collectors.toList());
+        // 切片小、在途多，后提交的切片经常先完成
+        BatchDigests batch = new BatchDigests(executor, 7, 16);
+        List<DigestResult<String>> results = batch.hashStrings(sources, DigestAlgorithm.SHA256,
+                StandardCharsets.UTF_8, false);
+        assertEquals(sources.size(), results.size());
+        for (int i = 0; i < sources.size(); i++) {
+            DigestResult<String> result = results.get(i);
+            assertSame(sources.get(i), result.getInput());
+            assertEquals(Digests.hex(DigestAlgorithm.SHA256, sources.get(i), StandardCharsets.UTF_8, false),
+                    result.getHex());
+        }
+    }
+
+    @Test
+    void failureIsRecordedPerItem() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Path file = dir.resolve("f" + i);
+            if (i != 2) {
+                Files.write(file, ("content" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            paths.add(file);
+        }
+        List<DigestResult<Path>> results = new BatchDigests(executor, 1, 4).hashFiles(paths, DigestAlgorithm.MD5);
+        for (int i = 0; i < paths.size(); i++) {
+            DigestResult<Path> result = results.get(i);
+            if (i == 2) {
+                assertFalse(result.isSuccess());
+                assertNull(result.getHex());
+                assertTrue(result.getError() instanceof NoSuchFileException);
+            } else {
+                assertTrue(result.isSuccess());
+                assertEquals(Digests.hex(DigestAlgorithm.MD5, "content" + i, StandardCharsets.UTF_8, false),
+                        result.getHex());
+            }
+        }
+    }
+
+    @Test
+    void closeCancelsPendingBatches() throws InterruptedException {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Integer> inputs = IntStream.range(0, 100).boxed().peek(i -> pulled.incrementAndGet()).iterator();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BatchDigests batch = new BatchDigests(executor, 1, 2);
+        Stream<DigestResult<Integer>> stream = batch.stream(inputs, i -> {
+            if (i == 1) {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return String.valueOf(i);
+        });
+        assertEquals("0", stream.iterator().next().getHex());
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        stream.close();
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        // 只读取了已提交的两个切片
+        assertEquals(2, pulled.get());
+    }
+}
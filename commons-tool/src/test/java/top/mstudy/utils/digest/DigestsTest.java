@@ -0,0 +1,89 @@
+package top.mstudy.utils.digest;
+
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.MD5Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: 多线程同时计算摘要，结果与每次新建的MessageDigest一致
+ * @date 2026-10-18
+ */
+class DigestsTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ROUNDS = 2000;
+
+    @Test
+    void concurrentDigestsMatchReference() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Random random = new Random(seed);
+                    DigestAlgorithm[] algorithms = DigestAlgorithm.values();
+                    int checked = 0;
+                    for (int i = 0; i < ROUNDS; i++) {
+                        DigestAlgorithm algorithm = algorithms[random.nextInt(algorithms.length)];
+                        byte[] data = new byte[random.nextInt(4096)];
+                        random.nextBytes(data);
+                        int offset = data.length == 0 ? 0 : random.nextInt(data.length);
+                        int length = data.length - offset;
+
+                        MessageDigest reference = MessageDigest.getInstance(algorithm.getName());
+                        assertArrayEquals(reference.digest(data), Digests.digest(algorithm, data));
+                        reference.update(data, offset, length);
+                        assertArrayEquals(reference.digest(), Digests.digest(algorithm, data, offset, length));
+                        checked++;
+                    }
+                    return checked;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertEquals(ROUNDS, future.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void interleavedAlgorithmsOnOneThread() throws Exception {
+        // 同一线程交替使用不同算法和未完成的get()，不能互相影响
+        DigestAlgorithm.MD5.get().update((byte) 1);
+        assertEquals(hex("MD5", "abc"), Digests.md5Hex("abc"));
+        assertEquals(hex("SHA-1", "abc"), Digests.sha1Hex("abc"));
+        assertEquals(hex("SHA-256", "abc"), Digests.sha256Hex("abc"));
+        assertEquals(hex("MD5", "中文").toUpperCase(), MD5Utils.md5UpperCase32("中文", "UTF-8"));
+    }
+
+    private static String hex(String algorithm, String src) throws Exception {
+        byte[] digest = MessageDigest.getInstance(algorithm).digest(src.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
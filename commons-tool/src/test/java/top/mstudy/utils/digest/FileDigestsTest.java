@@ -0,0 +1,66 @@
+package top.mstudy.utils.digest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author machao
+ * @description: 文件摘要与MessageDigest一次性计算的结果一致，树形摘要与按分块手工计算的结果一致
+ * @date 2026-10-18
+ */
+class FileDigestsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void digestMatchesMessageDigest() throws Exception {
+        for (int size : new int[] { 0, 1, 65535, 65536, 65537, (int) FileDigests.MAP_THRESHOLD + 17, 5 << 20 }) {
+            byte[] data = random(size);
+            Path file = write(data);
+            for (DigestAlgorithm algorithm : DigestAlgorithm.values()) {
+                byte[] expected = MessageDigest.getInstance(algorithm.getName()).digest(data);
+                assertArrayEquals(expected, FileDigests.digest(file, algorithm), algorithm + " " + size);
+                assertArrayEquals(expected, FileDigests.treeDigest(file, algorithm, size + 1), algorithm + " " + size);
+            }
+        }
+    }
+
+    @Test
+    void treeDigestMatchesChunkedReference() throws Exception {
+        byte[] data = random((5 << 20) + 12345);
+        Path file = write(data);
+        // 小于和大于MAP_THRESHOLD的分块分别走按位置读取和内存映射
+        for (int chunkSize : new int[] { 100000, 1 << 20, 3 << 20 }) {
+            MessageDigest outer = MessageDigest.getInstance("SHA-256");
+            for (int from = 0; from < data.length; from += chunkSize) {
+                byte[] chunk = Arrays.copyOfRange(data, from, Math.min(data.length, from + chunkSize));
+                outer.update(MessageDigest.getInstance("SHA-256").digest(chunk));
+            }
+            assertArrayEquals(outer.digest(), FileDigests.treeDigest(file, DigestAlgorithm.SHA256, chunkSize),
+                    String.valueOf(chunkSize));
+        }
+        assertThrows(IllegalArgumentException.class, () -> FileDigests.treeDigest(file, DigestAlgorithm.MD5, 0));
+    }
+
+    private Path write(byte[] data) throws Exception {
+        Path file = Files.createTempFile(dir, "digest", ".bin");
+        Files.write(file, data);
+        return file;
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,72 @@
+package top.mstudy.utils.digest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: 字符序列按字符集分块编码后的摘要与String.getBytes(charset)一次性编码的摘要一致，
+ * 覆盖不成对的代理字符、无法映射的字符和超过编码缓冲区长度的输入
+ * @date 2026-10-18
+ */
+class HasherTest {
+
+    private static final Charset[] CHARSETS = { StandardCharsets.UTF_8, StandardCharsets.UTF_16,
+            StandardCharsets.UTF_16LE, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII, Charset.forName("GBK") };
+
+    private static final String[] SURROGATES = { "\ud83d", "\ude00", "a\ud83d", "\ude00b", "\ude00\ud83d",
+            "x😀\ud83dy", "\ud83d😀" };
+
+    @Test
+    void unpairedSurrogatesMatchGetBytes() throws Exception {
+        for (Charset charset : CHARSETS) {
+            for (String text : SURROGATES) {
+                assertDigest(text, charset);
+            }
+        }
+    }
+
+    @Test
+    void longInputsMatchGetBytes() throws Exception {
+        Random random = new Random(12);
+        // 编码缓冲区为8192字节，多字节字符和代理对经常跨过缓冲区边界
+        String alphabet = "aé中😀\ud83d";
+        for (int length : new int[] { 8191, 8192, 8193, 16385, 100000 }) {
+            StringBuilder text = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            for (Charset charset : CHARSETS) {
+                assertDigest(text.toString(), charset);
+            }
+        }
+    }
+
+    @Test
+    void chunkedUpdatesMatchSingleUpdate() throws Exception {
+        byte[] data = new byte[50000];
+        new Random(13).nextBytes(data);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+        Hasher hasher = new Hasher(DigestAlgorithm.SHA256);
+        assertEquals(data.length, hasher.update(new ByteArrayInputStream(data)));
+        assertArrayEquals(expected, hasher.digest());
+        // digest之后可以继续使用
+        assertArrayEquals(expected, hasher.update(data, 0, 10000).update(data, 10000, 40000).digest());
+    }
+
+    private static void assertDigest(String text, Charset charset) throws Exception {
+        byte[] expected = MessageDigest.getInstance("MD5").digest(text.getBytes(charset));
+        Hasher hasher = new Hasher(DigestAlgorithm.MD5);
+        assertArrayEquals(expected, hasher.update(text, charset).digest(), charset + " " + text.length());
+        // CharSequence不是String时结果相同
+        assertArrayEquals(expected, hasher.update(new StringBuilder(text), charset).digest(), charset.name());
+    }
+}
@@ -0,0 +1,107 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: 按总字节数淘汰最久未访问的条目，过期条目不再命中，超过上限的单个条目不放入缓存，
+ * 命中、未命中和淘汰计数准确；ETag按If-None-Match的弱比较匹配
+ * @date 2026-10-18
+ */
+class QrCodeCacheTest {
+
+    /**
+     * 单字符内容、100字节PNG的条目权重：100 + 2 + 128
+     */
+    private static final int WEIGHT = 230;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void evictsLeastRecentlyUsedByBytes() throws Exception {
+        QrCodeCache cache = new QrCodeCache(WEIGHT * 3, 60_000);
+        QrCodeCache.Entry a = cache.get(key("a"), this::load);
+        cache.get(key("b"), this::load);
+        cache.get(key("c"), this::load);
+        assertEquals(WEIGHT * 3, cache.getTotalBytes());
+        assertSame(a, cache.get(key("a"), this::load));
+
+        // b最久未访问，放入d时被淘汰
+        cache.get(key("d"), this::load);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.getIfPresent(key("b")));
+        assertNotNull(cache.getIfPresent(key("c")));
+        assertSame(a, cache.getIfPresent(key("a")));
+
+        assertEquals(4, loads.get());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(5, cache.getMissCount());
+        assertEquals(WEIGHT * 3, cache.getTotalBytes());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() throws Exception {
+        QrCodeCache cache = new QrCodeCache(WEIGHT * 3, 50);
+        QrCodeCache.Entry first = cache.get(key("a"), this::load);
+        assertSame(first, cache.getIfPresent(key("a")));
+        Thread.sleep(80);
+        assertNull(cache.getIfPresent(key("a")));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+        cache.get(key("a"), this::load);
+        assertEquals(2, loads.get());
+        // 过期移除不计入淘汰
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void oversizedEntryIsNotStored() throws Exception {
+        QrCodeCache cache = new QrCodeCache(WEIGHT * 3, 60_000);
+        cache.get(key("a"), this::load);
+        QrCodeCache.Entry big = cache.get(key("big"), k -> new byte[WEIGHT * 3]);
+        assertEquals(WEIGHT * 3, big.getBytes().length);
+        assertEquals(1, cache.size());
+        assertEquals(WEIGHT, cache.getTotalBytes());
+        assertNull(cache.getIfPresent(key("big")));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void etagMatchesIfNoneMatchList() throws Exception {
+        QrCodeCache.Entry entry = new QrCodeCache(WEIGHT, 60_000).get(key("a"), this::load);
+        String etag = entry.getEtag();
+        assertTrue(entry.matches(etag));
+        assertTrue(entry.matches("*"));
+        assertTrue(entry.matches("W/" + etag));
+        assertTrue(entry.matches("\"x\", " + etag));
+        assertTrue(entry.matches("\"x\",W/" + etag + ",\"y\""));
+        assertTrue(entry.matches("bad, " + etag));
+        assertFalse(entry.matches(null));
+        assertFalse(entry.matches(""));
+        assertFalse(entry.matches("\"x\", \"y\""));
+        assertFalse(entry.matches(etag.substring(1, etag.length() - 1)));
+        assertFalse(entry.matches("\"a," + etag.substring(1)));
+    }
+
+    private byte[] load(QrCodeKey key) {
+        loads.incrementAndGet();
+        byte[] bytes = new byte[100];
+        bytes[0] = (byte) key.getContents().charAt(0);
+        return bytes;
+    }
+
+    private static QrCodeKey key(String contents) {
+        return new QrCodeKey(contents, 100, 100, ErrorCorrectionLevel.H, 1);
+    }
+}
@@ -0,0 +1,77 @@
+package top.mstudy.utils.qrcode;
+
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.RecodeUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author machao
+ * @description: 直接生成的PNG经ImageIO解码后与二维码矩阵逐像素一致，写出失败后同一线程生成的下一张图不受影响
+ * @date 2026-10-18
+ */
+class QrImagesTest {
+
+    @Test
+    void pngPixelsMatchMatrix() throws Exception {
+        for (int size : new int[] { 21, 200, 1500 }) {
+            BitMatrix matrix = RecodeUtils.encode(new QrCodeKey("https://mstudy.top/" + size, size, size,
+                    ErrorCorrectionLevel.H, 1));
+            assertMatches(matrix, QrImages.toPng(matrix));
+        }
+    }
+
+    @Test
+    void failedWriteDoesNotLeakIntoNextImage() throws Exception {
+        BitMatrix large = RecodeUtils.encode(new QrCodeKey("large", 3000, 3000, ErrorCorrectionLevel.H, 1));
+        assertThrows(IOException.class, () -> QrImages.writePng(large, new FailingOutputStream(100)));
+        BitMatrix small = RecodeUtils.encode(new QrCodeKey("small", 300, 300, ErrorCorrectionLevel.H, 1));
+        assertMatches(small, QrImages.toPng(small));
+    }
+
+    private static void assertMatches(BitMatrix matrix, byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(matrix.getWidth(), image.getWidth());
+        assertEquals(matrix.getHeight(), image.getHeight());
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                int expected = matrix.get(x, y) ? 0xff000000 : 0xffffffff;
+                assertEquals(expected, image.getRGB(x, y), x + "," + y);
+            }
+        }
+    }
+
+    /**
+     * 写出指定字节数后抛出IOException，模拟客户端断开
+     */
+    private static final class FailingOutputStream extends OutputStream {
+
+        private int remaining;
+
+        private FailingOutputStream(int limit) {
+            this.remaining = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            remaining -= len;
+            if (remaining < 0) {
+                throw new IOException("连接已断开");
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package top.mstudy.utils.regex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author machao
+ * @description: 淘汰最久未访问的条目，注册的表达式不占条目数上限，命中、未命中和淘汰计数准确
+ * @date 2026-10-18
+ */
+class PatternCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() throws InterruptedException {
+        PatternCache cache = new PatternCache(2);
+        Pattern a = cache.get("a");
+        step();
+        cache.get("b");
+        step();
+        assertSame(a, cache.get("a"));
+        step();
+        cache.get("c");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        // b最久未访问被淘汰，a仍在缓存中
+        assertSame(a, cache.get("a"));
+        cache.get("b");
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void registeredPatternsDoNotShrinkCapacity() {
+        PatternCache cache = new PatternCache(4);
+        cache.registerAll("p1", "p2", "p3", "p4");
+        cache.register("p1");
+        for (int i = 0; i < 3; i++) {
+            cache.get("x");
+        }
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+
+        for (int i = 0; i < 4; i++) {
+            cache.get("y" + i);
+        }
+        assertEquals(8, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        // 注册的表达式常驻，不会被淘汰也不计入未命中
+        Pattern p1 = cache.get("p1");
+        cache.invalidateAll();
+        assertEquals(4, cache.size());
+        assertSame(p1, cache.get("p1"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    void registerKeepsCompiledPattern() {
+        PatternCache cache = new PatternCache(1);
+        Pattern cached = cache.get("z", Pattern.CASE_INSENSITIVE);
+        assertSame(cached, cache.register("z", Pattern.CASE_INSENSITIVE));
+        cache.get("other");
+        cache.get("another");
+        assertSame(cached, cache.get("z", Pattern.CASE_INSENSITIVE));
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * 访问时间按毫秒粒度记录，间隔超过粒度才能区分先后
+     */
+    private static void step() throws InterruptedException {
+        Thread.sleep(3);
+    }
+}
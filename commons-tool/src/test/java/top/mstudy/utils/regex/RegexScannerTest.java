@@ -0,0 +1,124 @@
+package top.mstudy.utils.regex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: 滑动窗口上的匹配结果与在整个字符串上用Matcher查找的结果一致，重点覆盖跨越窗口边界的匹配
+ * @date 2026-10-18
+ */
+class RegexScannerTest {
+
+    private static final String[] PATTERNS = { "\\d+", "foo\\w*?bar", "b$", "(?m)^ab+", "(?m)c$", "a*", "\\bxyz\\b",
+            "(?<=q)z+", "[a-c]{3,40}", "x(y|yy)z" };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesAcrossWindowBoundaries() throws IOException {
+        Random random = new Random(8);
+        String text = randomText(random, 60000);
+        for (String regex : PATTERNS) {
+            Pattern pattern = Pattern.compile(regex);
+            List<String> expected = reference(pattern, text);
+            // 下层Reader每次只返回少量字符，maxMatchLength很小，窗口频繁滑动
+            for (int maxMatchLength : new int[] { 48, 200, RegexScanner.DEFAULT_MAX_MATCH_LENGTH }) {
+                Reader reader = new ShortReads(new StringReader(text), random);
+                try (RegexScanner scanner = new RegexScanner(reader, pattern, maxMatchLength)) {
+                    assertEquals(expected, scan(scanner), regex + " " + maxMatchLength);
+                }
+            }
+            try (RegexScanner scanner = RegexScanner.of(text, pattern)) {
+                assertEquals(expected, scan(scanner), regex);
+            }
+        }
+    }
+
+    @Test
+    void matchSpanningReadBoundary() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 8190; i++) {
+            text.append('-');
+        }
+        // 匹配横跨第一次读取的8192个字符
+        text.append("foo12345bar").append("b");
+        Pattern pattern = Pattern.compile("foo\\d+bar|b$");
+        try (RegexScanner scanner = new RegexScanner(new StringReader(text.toString()), pattern, 32)) {
+            assertEquals(reference(pattern, text.toString()), scan(scanner));
+        }
+    }
+
+    @Test
+    void mappedFileWithMultiByteCharacters() throws IOException {
+        Random random = new Random(9);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            text.append(random.nextInt(5) == 0 ? "中文" : randomText(random, 3)).append(i % 97 == 0 ? "\n" : "");
+        }
+        Path file = Files.createTempFile(dir, "scan", ".txt");
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        Pattern pattern = Pattern.compile("中文\\d+|(?m)^\\w+");
+        try (RegexScanner scanner = RegexScanner.of(file, StandardCharsets.UTF_8, pattern)) {
+            assertEquals(reference(pattern, text.toString()), scan(scanner));
+        }
+    }
+
+    private static List<String> scan(RegexScanner scanner) throws IOException {
+        List<String> found = new ArrayList<>();
+        scanner.forEach((match, offset) -> found.add(offset + ":" + match.group()));
+        return found;
+    }
+
+    private static List<String> reference(Pattern pattern, String text) {
+        List<String> found = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            found.add(matcher.start() + ":" + matcher.group());
+        }
+        return found;
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "abcqxyz0123456789 fobr\n";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 每次最多返回随机个字符的Reader
+     */
+    private static final class ShortReads extends FilterReader {
+
+        private final Random random;
+
+        private ShortReads(Reader in, Random random) {
+            super(in);
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1 + random.nextInt(37)));
+        }
+    }
+}
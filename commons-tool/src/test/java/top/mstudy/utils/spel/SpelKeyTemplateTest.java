@@ -0,0 +1,133 @@
+package top.mstudy.utils.spel;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import top.mstudy.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author machao
+ * @description: 模板求值结果与调整前getValueBySpelKey每次新建解析器和上下文的实现一致，赋值和变量不会泄漏到其他片段或下一次调用
+ * @date 2026-10-18
+ */
+class SpelKeyTemplateTest {
+
+    private static final String[] NAMES = { "id", "user", "tags" };
+
+    @Test
+    void matchesOldImplementation() {
+        String[] keys = { "lock", "order_#id", "order_#id_#user.name", "#user.getName()_#tags[1]", "a__#id_",
+                "#user.age + 1_#id", "#missing_#id", "#id == 7 ? 'x' : 'y'", "#tags.size()_#user?.name",
+                "#x = 5_#x", "#id_#x" };
+        Object[][] argSets = { { 7, new User("tom", 30), Arrays.asList("a", "b") },
+                { "s", new User(null, -1), Arrays.asList("c", "d", "e") },
+                { null, new User("中文", 0), Arrays.asList("f", null) } };
+        // 多次求值使MIXED模式的表达式被编译，编译前后结果都与原实现一致
+        for (int round = 0; round < 300; round++) {
+            for (String key : keys) {
+                for (Object[] args : argSets) {
+                    String message = key + " " + Arrays.toString(args);
+                    assertEquals(oldValue(key, NAMES, args), StringUtils.getValueBySpelKey(key, NAMES, args),
+                            message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void assignmentsDoNotLeak() {
+        SpelKeyTemplate assign = SpelKeyTemplate.of("#x = 'leaked'_#x");
+        SpelKeyTemplate read = SpelKeyTemplate.of("#x_#id");
+        Object[] args = { 1, null, null };
+        // 与原实现相同，赋值只在所在片段内可见
+        assertEquals("leaked", assign.render(NAMES, args));
+        assertEquals("1", read.render(NAMES, args));
+        assertEquals("", read.render(new String[0], new Object[0]));
+        assertSame(read, SpelKeyTemplate.of("#x_#id"));
+    }
+
+    @Test
+    void concurrentRenders() throws Exception {
+        SpelKeyTemplate template = SpelKeyTemplate.of("order_#id_#user.name");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        Object[] args = { thread * 100000 + i, new User("u" + i, i), null };
+                        assertEquals("order" + args[0] + "u" + i, template.render(NAMES, args));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 调整前StringUtils.getValueBySpelKey的实现
+     */
+    private static String oldValue(String key, String[] parameterNames, Object[] values) {
+        if (!key.contains("#")) {
+            return key;
+        }
+        String[] spelKeys = key.split("_");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= spelKeys.length - 1; i++) {
+            if (!spelKeys[i].startsWith("#")) {
+                sb.append(spelKeys[i]);
+                continue;
+            }
+            ExpressionParser parser = new SpelExpressionParser();
+            EvaluationContext context = new StandardEvaluationContext();
+            for (int j = 0; j < parameterNames.length; j++) {
+                context.setVariable(parameterNames[j], values[j]);
+            }
+            Expression expression = parser.parseExpression(spelKeys[i]);
+            Object value = expression.getValue(context);
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static class User {
+
+        private final String name;
+
+        private final int age;
+
+        User(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package top.mstudy.utils.text;
+
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.StringUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * @author machao
+ * @description: 一次扫描提取多组标识的结果与逐组调用getMatchList一致，空标识不会使查找原地打转
+ * @date 2026-10-18
+ */
+class MarkerExtractorTest {
+
+    @Test
+    void matchesGetMatchListPerGroup() {
+        Random random = new Random(10);
+        for (int round = 0; round < 500; round++) {
+            int groups = 1 + random.nextInt(6);
+            String[] starts = new String[groups];
+            String[] ends = new String[groups];
+            for (int g = 0; g < groups; g++) {
+                // 字母表很小，标识之间经常重叠或互为前后缀
+                starts[g] = randomText(random, 1 + random.nextInt(3), "ab<");
+                ends[g] = randomText(random, 1 + random.nextInt(3), "ab>");
+            }
+            String text = randomText(random, random.nextInt(300), "ab<>c中");
+            MarkerExtractor markers = new MarkerExtractor(starts, ends);
+            List<List<String>> lists = markers.extract(text);
+            List<MarkerExtractor.Span> spans = markers.spans(text);
+            for (int g = 0; g < groups; g++) {
+                String message = text + " " + starts[g] + " " + ends[g];
+                List<String> expected = StringUtils.getMatchList(text, starts[g], ends[g]);
+                assertEquals(expected, lists.get(g), message);
+                int group = g;
+                assertEquals(expected, spans.stream().filter(span -> span.getGroup() == group)
+                        .map(span -> text.substring(span.getStart(), span.getEnd())).collect(Collectors.toList()),
+                        message);
+            }
+            assertEquals(lists, StringUtils.getMatchLists(text, markers));
+        }
+    }
+
+    @Test
+    void knownCases() {
+        MarkerExtractor markers = new MarkerExtractor(new String[] { "${", "<b>", "[" },
+                new String[] { "}", "</b>", "]" });
+        String text = "x=${a}, <b>bold</b> [1][] ${b}${} [unclosed";
+        assertEquals(3, markers.size());
+        List<List<String>> lists = StringUtils.getMatchLists(text, markers);
+        assertEquals(Arrays.asList("a", "b"), lists.get(0));
+        assertEquals(Collections.singletonList("bold"), lists.get(1));
+        assertEquals(Collections.singletonList("1"), lists.get(2));
+        // ${}和[]的空内容不输出
+        assertEquals(lists, markers.extract(text));
+        assertEquals(4, markers.spans(text).size());
+    }
+
+    @Test
+    void emptyMarkers() {
+        List<String> empty = Collections.emptyList();
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertEquals(empty, StringUtils.getMatchList("abc", "", ""));
+            assertEquals(empty, StringUtils.getMatchList("abc", "a", ""));
+            assertEquals(empty, StringUtils.getMatchList("abc", "", "c"));
+        });
+        assertThrows(IllegalArgumentException.class, () -> new MarkerExtractor(new String[] { "" },
+                new String[] { "c" }));
+        assertThrows(IllegalArgumentException.class, () -> new MarkerExtractor(new String[] { "a" },
+                new String[] { "" }));
+        assertThrows(IllegalArgumentException.class, () -> new MarkerExtractor(new String[] { "a" },
+                new String[] { null }));
+    }
+
+    private static String randomText(Random random, int length, String alphabet) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package top.mstudy.utils.text;
+
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author machao
+ * @description: 拆分结果与调整前StringUtils.split的实现一致，包括needBlank、开头和末尾的分隔符、空白字符串
+ * @date 2026-10-18
+ */
+class SplitterTest {
+
+    private static final String[] EMPTY_ARRAY = new String[0];
+
+    @Test
+    void knownCases() {
+        String[] inputs = { null, "", "   ", "a", ",", ",,", "a,", "a,,", ",a", ",,a,,b,,", "a,b,c", " a , b ",
+                "a::b::", "::a::::b", "a:::b" };
+        for (String input : inputs) {
+            for (boolean needBlank : new boolean[] { false, true }) {
+                String message = input + " " + needBlank;
+                assertArrayEquals(oldSplit(input, ',', needBlank), StringUtils.split(input, ',', needBlank), message);
+                assertArrayEquals(oldSplit(input, "::", needBlank), StringUtils.split(input, "::", needBlank),
+                        message);
+                assertArrayEquals(oldSplit(input, ",", needBlank), StringUtils.split(input, ",", needBlank), message);
+            }
+        }
+        // 末尾分隔符之后的空片段总是不输出
+        assertArrayEquals(new String[] { "a", "" }, StringUtils.split("a,,", ',', true));
+        assertArrayEquals(new String[] { "", "a" }, StringUtils.split(",a", ',', true));
+    }
+
+    @Test
+    void randomInputsMatchOldSplit() {
+        Random random = new Random(11);
+        Splitter.Tokens tokens = new Splitter.Tokens(2);
+        for (int round = 0; round < 5000; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                text.append("ab,: ".charAt(random.nextInt(5)));
+            }
+            String input = text.toString();
+            boolean needBlank = random.nextBoolean();
+            String[] byChar = oldSplit(input, ',', needBlank);
+            String[] byString = oldSplit(input, ",:", needBlank);
+            assertArrayEquals(byChar, StringUtils.split(input, ',', needBlank), input);
+            assertArrayEquals(byString, StringUtils.split(input, ",:", needBlank), input);
+
+            // 复用同一个Tokens，偏移与视图都与字符串结果一致
+            Splitter.split(input, ",:", needBlank, tokens);
+            assertEquals(byString.length, tokens.size(), input);
+            for (int i = 0; i < tokens.size(); i++) {
+                assertEquals(byString[i], input.substring(tokens.start(i), tokens.end(i)));
+                assertEquals(byString[i], tokens.getString(i));
+            }
+            assertEquals(Arrays.asList(byChar), toStrings(Splitter.slices(input, ',', needBlank)), input);
+            assertEquals(Arrays.asList(byString), toStrings(Splitter.slices(input, ",:", needBlank)), input);
+        }
+    }
+
+    @Test
+    void visitorCanStopEarlyAndEmptySeparatorIsRejected() {
+        List<String> seen = new ArrayList<>();
+        int count = Splitter.split("a,b,c,d", ',', false, (source, start, end) -> {
+            seen.add(source.subSequence(start, end).toString());
+            return seen.size() < 2;
+        });
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("a", "b"), seen);
+        assertThrows(IllegalArgumentException.class, () -> StringUtils.split("abc", "", false));
+        // 空白字符串在检查分隔符之前就返回
+        assertArrayEquals(EMPTY_ARRAY, StringUtils.split(" ", "", false));
+    }
+
+    private static List<String> toStrings(List<CharSequence> slices) {
+        List<String> strings = new ArrayList<>();
+        for (CharSequence slice : slices) {
+            strings.add(slice.toString());
+        }
+        return strings;
+    }
+
+    /**
+     * 调整前StringUtils.split(String, String, boolean)的实现
+     */
+    private static String[] oldSplit(String str, String sep, boolean needBlank) {
+        int len = StringUtils.isBlank(str) ? 0 : str.length();
+        if (len == 0) {
+            return EMPTY_ARRAY;
+        }
+        if (sep.length() == 1) {
+            return oldSplit(str, sep.charAt(0), needBlank);
+        }
+        List<String> list = new ArrayList<String>();
+        int idx = -1, lastIdx = 0, sepLen = sep.length();
+        while ((idx = str.indexOf(sep, lastIdx)) >= 0) {
+            if (needBlank || lastIdx != idx) {
+                list.add(str.substring(lastIdx, idx));
+            }
+            lastIdx = idx + sepLen;
+        }
+        if (lastIdx != str.length()) {
+            list.add(str.substring(lastIdx));
+        }
+        return list.toArray(EMPTY_ARRAY);
+    }
+
+    /**
+     * 调整前StringUtils.split(String, char, boolean)的实现
+     */
+    private static String[] oldSplit(String str, char sep, boolean needBlank) {
+        int len = StringUtils.isBlank(str) ? 0 : str.length();
+        if (len == 0) {
+            return EMPTY_ARRAY;
+        }
+        List<String> list = new ArrayList<String>();
+        int lastIdx = 0;
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            if (c == sep) {
+                if (needBlank || lastIdx != i) {
+                    list.add(str.substring(lastIdx, i));
+                }
+                lastIdx = i + 1;
+            }
+        }
+        if (lastIdx != len) {
+            list.add(str.substring(lastIdx));
+        }
+        return list.toArray(EMPTY_ARRAY);
+    }
+}
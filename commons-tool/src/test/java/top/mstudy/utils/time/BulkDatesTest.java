@@ -0,0 +1,196 @@
+package top.mstudy.utils.time;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.TimeUtils;
+
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static java.util.Calendar.DATE;
+import static java.util.Calendar.DAY_OF_MONTH;
+import static java.util.Calendar.DAY_OF_YEAR;
+import static java.util.Calendar.HOUR;
+import static java.util.Calendar.HOUR_OF_DAY;
+import static java.util.Calendar.MILLISECOND;
+import static java.util.Calendar.MINUTE;
+import static java.util.Calendar.MONTH;
+import static java.util.Calendar.SECOND;
+import static java.util.Calendar.YEAR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: 批量加减、截断、分桶和求差与逐个用Calendar.add、DateUtils.truncate计算的结果一致，
+ * 覆盖夏令时切换、半小时和45分钟偏移、跳过整天的时区、1600年以前的日期以及并行计算
+ * @date 2026-10-18
+ */
+class BulkDatesTest {
+
+    private static final String[] ZONES = { "Australia/Lord_Howe", "Pacific/Apia", "America/St_Johns",
+            "America/Sao_Paulo", "Asia/Shanghai" };
+
+    private static final int[] SHIFT_FIELDS = { MILLISECOND, SECOND, MINUTE, HOUR, HOUR_OF_DAY, DATE, DAY_OF_YEAR,
+            MONTH, YEAR };
+
+    private static final int[] TRUNCATE_FIELDS = { SECOND, MINUTE, HOUR, HOUR_OF_DAY, DATE, MONTH, YEAR };
+
+    private static final int LENGTH = BulkDates.PARALLEL_THRESHOLD + 1000;
+
+    /**
+     * 1600-01-01T00:00Z
+     */
+    private static final long YEAR_1600 = -11676096000000L;
+
+    @Test
+    void matchesCalendarInEachZone() throws Exception {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String id : ZONES) {
+                TimeZone zone = TimeZone.getTimeZone(id);
+                TimeZone.setDefault(zone);
+                Random random = new Random(id.hashCode());
+                long[] millis = randomMillis(random, zone);
+                checkShift(random, zone, millis);
+                checkTruncate(zone, millis);
+                checkBuckets(zone, millis);
+                checkDiff(random, zone, millis);
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private static void checkShift(Random random, TimeZone zone, long[] millis) {
+        Calendar cal = new GregorianCalendar(zone);
+        for (int field : SHIFT_FIELDS) {
+            int amount = random.nextInt(2001) - 1000;
+            long[] expected = new long[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                cal.setTimeInMillis(millis[i]);
+                cal.add(field, amount);
+                expected[i] = cal.getTimeInMillis();
+            }
+            String message = zone.getID() + " field " + field + " amount " + amount;
+            assertArrayEquals(expected, BulkDates.shift(millis, field, amount), message);
+            assertArrayEquals(expected, BulkDates.shift(millis, field, amount, true), message);
+            assertArrayEquals(expected, BulkDates.shift(Arrays.stream(millis), field, amount).toArray(), message);
+        }
+        // 与TimeUtils的单值方法一致
+        for (int amount : new int[] { -1, 1, 12, -12 }) {
+            long[] expected = new long[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                expected[i] = TimeUtils.dateAddAmount(new Date(millis[i]), DATE, amount).getTime();
+            }
+            assertArrayEquals(expected, BulkDates.shift(millis, DATE, amount, true), zone.getID() + " " + amount);
+        }
+    }
+
+    private static void checkTruncate(TimeZone zone, long[] millis) {
+        Calendar cal = new GregorianCalendar(zone);
+        for (int field : TRUNCATE_FIELDS) {
+            long[] expected = new long[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                cal.setTimeInMillis(millis[i]);
+                expected[i] = DateUtils.truncate(cal, field).getTimeInMillis();
+            }
+            String message = zone.getID() + " field " + field;
+            assertArrayEquals(expected, BulkDates.truncate(millis, field), message);
+            assertArrayEquals(expected, BulkDates.truncate(millis, field, true), message);
+            assertArrayEquals(expected, BulkDates.truncate(Arrays.stream(millis), field).toArray(), message);
+        }
+    }
+
+    private static void checkBuckets(TimeZone zone, long[] millis) {
+        Calendar cal = new GregorianCalendar(zone);
+        int[] days = new int[millis.length];
+        int[] months = new int[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            cal.setTimeInMillis(millis[i]);
+            days[i] = cal.get(YEAR) * 10000 + (cal.get(MONTH) + 1) * 100 + cal.get(DAY_OF_MONTH);
+            months[i] = days[i] / 100;
+        }
+        assertArrayEquals(days, BulkDates.bucketByDay(millis), zone.getID());
+        assertArrayEquals(days, BulkDates.bucketByDay(millis, true), zone.getID());
+        assertArrayEquals(days, BulkDates.bucketByDay(Arrays.stream(millis)).toArray(), zone.getID());
+        assertArrayEquals(months, BulkDates.bucketByMonth(millis), zone.getID());
+        assertArrayEquals(months, BulkDates.bucketByMonth(millis, true), zone.getID());
+        assertArrayEquals(months, BulkDates.bucketByMonth(Arrays.stream(millis)).toArray(), zone.getID());
+    }
+
+    private static void checkDiff(Random random, TimeZone zone, long[] millis) throws Exception {
+        long[] others = randomMillis(random, zone);
+        Calendar c1 = new GregorianCalendar(zone);
+        Calendar c2 = new GregorianCalendar(zone);
+        for (int field : new int[] { SECOND, MINUTE, HOUR, DATE, MONTH, YEAR }) {
+            long[] actual = BulkDates.diff(millis, others, field);
+            assertArrayEquals(actual, BulkDates.diff(millis, others, field, true));
+            for (int i = 0; i < millis.length; i++) {
+                String message = zone.getID() + " " + millis[i] + " " + others[i] + " field " + field;
+                assertEquals(TimeUtils.compareDate(new Date(millis[i]), new Date(others[i]), field), actual[i],
+                        message);
+                c1.setTimeInMillis(millis[i]);
+                c2.setTimeInMillis(others[i]);
+                // 1600年以前Calendar按儒略历计算年月，只比较按天的差值
+                if (field == DATE || millis[i] >= YEAR_1600 && others[i] >= YEAR_1600) {
+                    assertEquals(reference(c1, c2, field), actual[i], message);
+                }
+            }
+        }
+    }
+
+    /**
+     * 大部分取1900到2100年之间，其余取时区偏移变化前后几小时内和1600年以前
+     */
+    private static long[] randomMillis(Random random, TimeZone zone) {
+        ZoneRules rules = ZoneId.of(zone.getID()).getRules();
+        List<ZoneOffsetTransition> transitions = rules.getTransitions();
+        long[] millis = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 3 && !transitions.isEmpty()) {
+                ZoneOffsetTransition transition = transitions.get(random.nextInt(transitions.size()));
+                long around = (long) ((random.nextDouble() - 0.5) * 6 * 3600000L);
+                millis[i] = transition.getInstant().toEpochMilli() + around;
+            } else if (kind < 4) {
+                millis[i] = YEAR_1600 - (long) (random.nextDouble() * 20000000000000L);
+            } else {
+                millis[i] = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+            }
+        }
+        return millis;
+    }
+
+    private static long reference(Calendar c1, Calendar c2, int field) {
+        switch (field) {
+        case SECOND:
+            return Math.floorDiv(c1.getTimeInMillis(), 1000L) - Math.floorDiv(c2.getTimeInMillis(), 1000L);
+        case MINUTE:
+            return Math.floorDiv(c1.getTimeInMillis(), 60000L) - Math.floorDiv(c2.getTimeInMillis(), 60000L);
+        case HOUR:
+            return Math.floorDiv(c1.getTimeInMillis(), 3600000L) - Math.floorDiv(c2.getTimeInMillis(), 3600000L);
+        case DATE:
+            return localDay(c1) - localDay(c2);
+        case MONTH:
+            return c1.get(YEAR) * 12L - c2.get(YEAR) * 12L + c1.get(MONTH) - c2.get(MONTH);
+        default:
+            return c1.get(YEAR) - c2.get(YEAR);
+        }
+    }
+
+    private static long localDay(Calendar calendar) {
+        Calendar utc = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        utc.clear();
+        utc.set(calendar.get(YEAR), calendar.get(MONTH), calendar.get(DAY_OF_MONTH));
+        return Math.floorDiv(utc.getTimeInMillis(), 86400000L);
+    }
+}
@@ -0,0 +1,80 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: 缓存的格式化器随默认时区和默认Locale变化，结果与每次新建的SimpleDateFormat一致
+ * @date 2026-10-18
+ */
+class DateFormatRegistryTest {
+
+    private TimeZone defaultZone;
+
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void saveDefaults() {
+        defaultZone = TimeZone.getDefault();
+        defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        TimeZone.setDefault(defaultZone);
+        Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+    }
+
+    @Test
+    void followsDefaultTimeZoneChanges() throws Exception {
+        String[] patterns = { "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmssS", "yyyy-MM-dd E" };
+        TimeZone[] zones = { TimeZone.getTimeZone("Asia/Shanghai"), TimeZone.getTimeZone("UTC"),
+                TimeZone.getTimeZone("America/New_York"), new SimpleTimeZone(3600000, "MyZone"),
+                new SimpleTimeZone(-7200000, "Asia/Shanghai") };
+        long[] instants = { 0L, 1710054000000L, 1730613600000L, 253402300799000L };
+        for (TimeZone zone : zones) {
+            TimeZone.setDefault(zone);
+            for (String pattern : patterns) {
+                for (long millis : instants) {
+                    String expected = new SimpleDateFormat(pattern).format(new Date(millis));
+                    String message = zone.getID() + " " + pattern + " " + millis;
+                    assertEquals(expected, DateFormatRegistry.format(new Date(millis), pattern), message);
+                    assertEquals(new SimpleDateFormat(pattern).parse(expected).getTime(),
+                            DateFormatRegistry.parseMillis(expected, pattern), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void epochInUtcAfterSwitchingFromShanghai() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+        assertEquals("1970-01-01 08:00", DateFormatRegistry.format(new Date(0), "yyyy-MM-dd HH:mm"));
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        assertEquals("1970-01-01 00:00", DateFormatRegistry.format(new Date(0), "yyyy-MM-dd HH:mm"));
+    }
+
+    @Test
+    void followsDefaultLocaleChanges() {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        Locale[] locales = { Locale.US, Locale.CHINA, Locale.GERMANY, new Locale("th", "TH", "TH"),
+                new Locale("ja", "JP", "JP") };
+        for (Locale locale : locales) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            for (String pattern : new String[] { "yyyy-MM-dd HH:mm:ss", "EEEE MMMM d yyyy" }) {
+                assertEquals(new SimpleDateFormat(pattern).format(new Date(1710054000000L)),
+                        DateFormatRegistry.format(1710054000000L, pattern), locale + " " + pattern);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.Test;
+import top.mstudy.utils.TimeUtils;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static java.util.Calendar.DATE;
+import static java.util.Calendar.DAY_OF_MONTH;
+import static java.util.Calendar.HOUR;
+import static java.util.Calendar.MONTH;
+import static java.util.Calendar.YEAR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * @author machao
+ * @description: 字段差值与按Calendar本地日期计算的结果一致，覆盖夏令时切换和自定义时区
+ * @date 2026-10-18
+ */
+class FieldDiffsTest {
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    private static final TimeZone[] ZONES = { TimeZone.getTimeZone("Asia/Shanghai"), NEW_YORK,
+            TimeZone.getTimeZone("Europe/London"), TimeZone.getTimeZone("Australia/Lord_Howe"),
+            TimeZone.getTimeZone("GMT+05:30"), new SimpleTimeZone(3600000, "MyZone"),
+            new SimpleTimeZone(-7200000, "Asia/Shanghai"),
+            new SimpleTimeZone(3600000, "America/New_York", MONTH, 1, 0, 3600000, Calendar.OCTOBER, 1, 0, 3600000) };
+
+    @Test
+    void daysAcrossDstTransitions() {
+        // 2024-03-10 00:30 EST 到 2024-03-11 00:30 EDT 只经过23小时，仍是1天
+        long beforeSpring = 1710048600000L;
+        assertEquals(1, FieldDiffs.diff(beforeSpring + 23 * 3600000L, beforeSpring, DATE, NEW_YORK));
+        // 2024-11-03 00:30 EDT 到 2024-11-03 23:30 EST 经过24小时，仍是同一天
+        long beforeFall = 1730608200000L;
+        assertEquals(0, FieldDiffs.diff(beforeFall + 24 * 3600000L, beforeFall, DATE, NEW_YORK));
+        assertEquals(1, FieldDiffs.diff(beforeFall + 24 * 3600000L + 3600000L, beforeFall, DATE, NEW_YORK));
+        assertEquals(24, FieldDiffs.diff(beforeFall + 24 * 3600000L, beforeFall, HOUR, NEW_YORK));
+    }
+
+    @Test
+    void offsetsMatchTimeZoneAroundTransitions() {
+        long[] transitions = { 1710054000000L, 1730613600000L };
+        for (long transition : transitions) {
+            ZoneOffsets offsets = ZoneOffsets.of(NEW_YORK);
+            for (long millis = transition - 2000; millis <= transition + 2000; millis++) {
+                assertEquals(NEW_YORK.getOffset(millis), offsets.offsetAt(millis), String.valueOf(millis));
+            }
+        }
+    }
+
+    @Test
+    void customZonesUseTheirOwnRules() throws Exception {
+        long millis = 1710054000000L;
+        for (TimeZone zone : ZONES) {
+            ZoneOffsets offsets = ZoneOffsets.of(zone);
+            for (int i = -400; i <= 400; i++) {
+                long t = millis + i * 86400000L + i * 7919L;
+                assertEquals(zone.getOffset(t), offsets.offsetAt(t), zone.getID() + " " + t);
+            }
+        }
+        Calendar c1 = Calendar.getInstance(new SimpleTimeZone(3600000, "MyZone"));
+        Calendar c2 = Calendar.getInstance(new SimpleTimeZone(3600000, "MyZone"));
+        c1.setTimeInMillis(millis);
+        c2.setTimeInMillis(millis - 86400000L * 3);
+        assertEquals(3, TimeUtils.compareCalendar(c1, c2, DATE));
+        // 沿用tzdb ID的自定义时区不能取到缓存中的系统规则
+        assertNotSame(ZoneOffsets.of(TimeZone.getTimeZone("Asia/Shanghai")), ZoneOffsets.of(ZONES[6]));
+        assertEquals(-7200000, ZoneOffsets.of(ZONES[6]).offsetAt(millis));
+    }
+
+    @Test
+    void systemZonesMatchTimeZoneOutsideZoneInfoRange() {
+        // 1900年以前的LMT偏移和2037年以后的切换，ZoneInfo与java.time规则不同，以TimeZone为准
+        Random random = new Random(11);
+        for (String id : TimeZone.getAvailableIDs()) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneOffsets offsets = ZoneOffsets.of(zone);
+            for (int i = 0; i < 300; i++) {
+                long t = -30000000000000L + (long) (random.nextDouble() * 37000000000000L);
+                assertEquals(zone.getOffset(t), offsets.offsetAt(t), id + " " + t);
+            }
+        }
+    }
+
+    @Test
+    void matchesCalendarLocalDates() throws Exception {
+        Random random = new Random(9);
+        int[] fields = { DATE, MONTH, YEAR };
+        for (int i = 0; i < 20000; i++) {
+            TimeZone zone1 = ZONES[random.nextInt(ZONES.length)];
+            TimeZone zone2 = ZONES[random.nextInt(ZONES.length)];
+            Calendar c1 = calendar(zone1, (long) (random.nextDouble() * 4102444800000L));
+            Calendar c2 = calendar(zone2, (long) (random.nextDouble() * 4102444800000L));
+            for (int field : fields) {
+                String message = zone1.getID() + " " + c1.getTimeInMillis() + " " + zone2.getID() + " "
+                        + c2.getTimeInMillis() + " " + field;
+                assertEquals(reference(c1, c2, field), TimeUtils.compareCalendar(c1, c2, field), message);
+            }
+        }
+    }
+
+    private static Calendar calendar(TimeZone zone, long millis) {
+        Calendar calendar = new GregorianCalendar(zone);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    private static long reference(Calendar c1, Calendar c2, int field) {
+        switch (field) {
+        case DATE:
+            return localDay(c1) - localDay(c2);
+        case MONTH:
+            return c1.get(YEAR) * 12 - c2.get(YEAR) * 12 + c1.get(MONTH) - c2.get(MONTH);
+        default:
+            return c1.get(YEAR) - c2.get(YEAR);
+        }
+    }
+
+    private static long localDay(Calendar calendar) {
+        Calendar utc = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        utc.clear();
+        utc.set(calendar.get(YEAR), calendar.get(MONTH), calendar.get(DAY_OF_MONTH));
+        return Math.floorDiv(utc.getTimeInMillis(), 86400000L);
+    }
+}
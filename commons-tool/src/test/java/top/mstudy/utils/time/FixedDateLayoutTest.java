@@ -0,0 +1,78 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author machao
+ * @description: 定长格式的编解码结果与SimpleDateFormat一致，快速路径覆盖不到的情况返回UNPARSED或null
+ * @date 2026-10-18
+ */
+class FixedDateLayoutTest {
+
+    private static final String[] PATTERNS = { "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss",
+            "yyyy/MM/dd HH:mm", "yyyyMMddHHmmssS", "yyyy-MM" };
+
+    private static final String[] ZONES = { "Asia/Shanghai", "UTC", "America/New_York", "Europe/London",
+            "Australia/Lord_Howe" };
+
+    @Test
+    void roundTripMatchesSimpleDateFormat() {
+        Random random = new Random(42);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (String pattern : PATTERNS) {
+                FixedDateLayout layout = FixedDateLayout.compile(pattern);
+                assertNotNull(layout, pattern);
+                SimpleDateFormat format = new SimpleDateFormat(pattern);
+                format.setTimeZone(zone);
+                format.setLenient(false);
+                for (int i = 0; i < 2000; i++) {
+                    // 1970年到2100年之间的随机时刻
+                    long millis = (long) (random.nextDouble() * 4102444800000L);
+                    String message = id + " " + pattern + " " + millis;
+                    String text = format.format(new Date(millis));
+                    assertEquals(text, layout.format(millis, zone), message);
+                    long parsed = layout.parse(text, zone);
+                    if (parsed != FixedDateLayout.UNPARSED) {
+                        assertEquals(format.parse(text, new ParsePosition(0)).getTime(), parsed, message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void dstTransitionsAreLeftToCalendar() {
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        FixedDateLayout layout = FixedDateLayout.compile("yyyy-MM-dd HH:mm:ss");
+        // 2024-03-10 02:30不存在，2024-11-03 01:30出现两次
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-03-10 02:30:00", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-11-03 01:30:00", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-03-10 03:00:00", zone));
+        assertEquals(1710486000000L, layout.parse("2024-03-15 03:00:00", zone));
+    }
+
+    @Test
+    void rejectsInputOutsideFastPath() {
+        TimeZone zone = TimeZone.getTimeZone("Asia/Shanghai");
+        FixedDateLayout layout = FixedDateLayout.compile("yyyy-MM-dd");
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-02-30", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-13-01", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024/01/01", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("2024-1-01", zone));
+        assertEquals(FixedDateLayout.UNPARSED, layout.parse("1500-01-01", zone));
+        assertNull(FixedDateLayout.compile("yyyy-MMM-dd"));
+        assertNull(FixedDateLayout.compile("yy-MM-dd"));
+        assertNull(FixedDateLayout.compile("yyyy-MM-dd E"));
+    }
+}
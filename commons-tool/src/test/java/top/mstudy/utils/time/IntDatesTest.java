@@ -0,0 +1,111 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: yyyyMMdd整数日期的换算和加减与java.time.LocalDate的结果一致，覆盖1年至9999年
+ * @date 2026-10-18
+ */
+class IntDatesTest {
+
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+
+    private static final long MAX_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private static final String[] ZONES = { "Asia/Shanghai", "America/Sao_Paulo", "Pacific/Apia",
+            "Australia/Lord_Howe", "America/St_Johns", "Asia/Gaza" };
+
+    @Test
+    void matchesLocalDate() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            long epochDay = MIN_EPOCH_DAY + (long) (random.nextDouble() * (MAX_EPOCH_DAY - MIN_EPOCH_DAY + 1));
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int ymd = IntDates.ofEpochDay(epochDay);
+            String message = date + " " + ymd;
+            assertEquals(of(date), ymd, message);
+            assertEquals(epochDay, IntDates.toEpochDay(ymd), message);
+            assertEquals(date.isLeapYear(), IntDates.isLeapYear(date.getYear()), message);
+            assertEquals(date.lengthOfMonth(), IntDates.lengthOfMonth(date.getYear(), date.getMonthValue()), message);
+            assertEquals(date.getDayOfWeek().getValue(), IntDates.dayOfWeek(ymd), message);
+            assertEquals(of(date.withDayOfMonth(1)), IntDates.firstDayOfMonth(ymd), message);
+            assertEquals(of(date.with(TemporalAdjusters.lastDayOfMonth())), IntDates.lastDayOfMonth(ymd), message);
+
+            int days = random.nextInt(20001) - 10000;
+            int months = random.nextInt(2001) - 1000;
+            int years = random.nextInt(201) - 100;
+            if (inRange(date.plusDays(days))) {
+                assertEquals(of(date.plusDays(days)), IntDates.addDays(ymd, days), message + " " + days);
+            }
+            if (inRange(date.plusMonths(months))) {
+                assertEquals(of(date.plusMonths(months)), IntDates.addMonths(ymd, months), message + " " + months);
+            }
+            if (inRange(date.plusYears(years))) {
+                assertEquals(of(date.plusYears(years)), IntDates.addYears(ymd, years), message + " " + years);
+            }
+
+            LocalDate other = LocalDate.ofEpochDay(MIN_EPOCH_DAY + random.nextInt(3660000));
+            int otherYmd = of(other);
+            assertEquals(epochDay - other.toEpochDay(), IntDates.daysBetween(ymd, otherYmd), message + " " + other);
+            assertEquals((date.getYear() - other.getYear()) * 12 + date.getMonthValue() - other.getMonthValue(),
+                    IntDates.monthsBetween(ymd, otherYmd), message + " " + other);
+            assertEquals(date.getYear() - other.getYear(), IntDates.yearsBetween(ymd, otherYmd), message);
+        }
+    }
+
+    @Test
+    void validatesLikeLocalDate() {
+        Random random = new Random(8);
+        for (int i = 0; i < 200000; i++) {
+            int year = 1 + random.nextInt(9999);
+            int month = random.nextInt(14);
+            int day = random.nextInt(33);
+            boolean valid;
+            try {
+                LocalDate.of(year, month, day);
+                valid = true;
+            } catch (DateTimeException e) {
+                valid = false;
+            }
+            assertEquals(valid, IntDates.isValid(IntDates.of(year, month, day)), year + "-" + month + "-" + day);
+        }
+    }
+
+    @Test
+    void convertsEpochMillisInZones() {
+        Random random = new Random(9);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            // ZoneInfo与java.time规则在1900年至2036年之间一致
+            for (int i = 0; i < 20000; i++) {
+                LocalDate date = LocalDate.of(1900, 1, 2).plusDays(random.nextInt(49000));
+                int ymd = of(date);
+                long start = date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+                assertEquals(start, IntDates.toEpochMillis(ymd, zone), id + " " + date);
+                long millis = start + (long) (random.nextDouble() * IntDates.MILLIS_PER_DAY);
+                assertEquals(of(Instant.ofEpochMilli(millis).atZone(zoneId).toLocalDate()),
+                        IntDates.ofEpochMillis(millis, zone), id + " " + millis);
+            }
+        }
+    }
+
+    private static boolean inRange(LocalDate date) {
+        return date.getYear() >= 1 && date.getYear() <= 9999;
+    }
+
+    private static int of(LocalDate date) {
+        return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+}
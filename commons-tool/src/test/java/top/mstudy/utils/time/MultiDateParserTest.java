@@ -0,0 +1,65 @@
+package top.mstudy.utils.time;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author machao
+ * @description: 多格式解析结果与commons-lang3的DateUtils.parseDate(str, patterns)一致，并能还原SimpleDateFormat的输出
+ * @date 2026-10-18
+ */
+class MultiDateParserTest {
+
+    private static final String[] PATTERNS = { "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "yyyy-MM",
+            "yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd HH:mm", "yyyy/MM", "yyyy.MM.dd", "yyyy.MM.dd HH:mm:ss",
+            "yyyy.MM.dd HH:mm", "yyyy.MM" };
+
+    private final MultiDateParser parser = new MultiDateParser(PATTERNS);
+
+    @Test
+    void roundTripsSimpleDateFormatOutput() {
+        Random random = new Random(7);
+        for (String pattern : PATTERNS) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern);
+            for (int i = 0; i < 1000; i++) {
+                Date date = new Date((long) (random.nextDouble() * 4102444800000L));
+                String text = format.format(date);
+                assertEquals(reference(text), parser.parse(text), pattern + " " + text);
+            }
+        }
+    }
+
+    @Test
+    void matchesCommonsLangOnIrregularInput() {
+        String[] inputs = { "2024-1-5", "2024-02-30", "2024-13-01", "2024-01-01 24:00", "2024-01-01 12:60:00",
+                "2024-03-10 02:30:00", "2024-11-03 01:30", "0999-01-01", "2024-01", "2024/1", "2024.01.01 ",
+                " 2024-01-01", "2024-01-01T00:00", "20240101", "2024-01-01 00:00:00.123", "2024--01-01", "abc", "",
+                "2024-01-01 00:00:00:00", "2024-０１-01", "99999-01-01", "2024-001-01" };
+        for (String input : inputs) {
+            assertEquals(reference(input), parser.parse(input), input);
+        }
+    }
+
+    @Test
+    void patternsThatCannotBeCompiledFallBackInOrder() {
+        MultiDateParser mixed = new MultiDateParser("yyyy-MM-dd", "yyyyMMdd", "dd MMM yyyy");
+        for (String input : new String[] { "20240131", "2024-01-31", "31 Jan 2024", "2024013", "31 Foo 2024" }) {
+            assertEquals(reference(input, "yyyy-MM-dd", "yyyyMMdd", "dd MMM yyyy"), mixed.parse(input), input);
+        }
+    }
+
+    private static Date reference(String text, String... patterns) {
+        try {
+            return DateUtils.parseDate(text, patterns.length == 0 ? PATTERNS : patterns);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author machao
+ * @description: 同步后按参考时钟的偏移返回时间，本地时钟快慢的补偿不超过±500ppm，参考时钟回拨时返回值不减小，
+ * 同步耗时、偏差和失败次数等指标如实记录
+ * @date 2026-10-18
+ */
+class RemoteTimeHandlerTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void appliesReferenceOffset() throws Exception {
+        FakeClock clock = new FakeClock(HOUR, 1.0D);
+        try (RemoteTimeHandler handler = started(clock)) {
+            assertEquals(HOUR, handler.getOffsetMillis(), 50);
+            assertEquals(System.currentTimeMillis() + HOUR, handler.currentTimeMillis(false), 50);
+            assertEquals(System.currentTimeMillis(), handler.currentTimeMillis(true), 50);
+            assertEquals(HOUR, handler.getLastDriftMillis(), 50);
+            assertEquals(1.0D, handler.getRate());
+        }
+    }
+
+    @Test
+    void clampsRateCompensation() throws Exception {
+        for (double rate : new double[] { 1.01D, 0.99D }) {
+            FakeClock clock = new FakeClock(0, rate);
+            try (RemoteTimeHandler handler = started(clock)) {
+                Thread.sleep(200);
+                handler.sync();
+                assertEquals(2, handler.getSyncCount());
+                assertEquals(rate > 1 ? 1.0005D : 0.9995D, handler.getRate(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void neverGoesBackwardsWhenReferenceSteps() throws Exception {
+        FakeClock clock = new FakeClock(0, 1.0D);
+        try (RemoteTimeHandler handler = started(clock)) {
+            long before = handler.currentTimeMillis(false);
+            clock.offset = -10000;
+            handler.sync();
+            assertEquals(-10000, handler.getLastDriftMillis(), 50);
+            long previous = before;
+            for (int i = 0; i < 1000; i++) {
+                long now = handler.currentTimeMillis(false);
+                assertTrue(now >= previous, now + " < " + previous);
+                previous = now;
+            }
+            // 追上回拨前的时间之前一直返回回拨前的值
+            assertEquals(before, previous);
+        }
+    }
+
+    @Test
+    void recordsLatencyAndFailures() throws Exception {
+        FakeClock clock = new FakeClock(0, 1.0D);
+        try (RemoteTimeHandler handler = started(clock)) {
+            clock.delayMillis = 20;
+            handler.sync();
+            assertTrue(handler.getLastSyncLatencyNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(handler.getLastSyncTime() > 0);
+            assertEquals(2, handler.getSyncCount());
+
+            long offset = handler.getOffsetMillis();
+            clock.offset = HOUR;
+            clock.fail = true;
+            handler.sync();
+            assertEquals(1, handler.getFailureCount());
+            assertEquals(2, handler.getSyncCount());
+            // 失败时沿用上次的同步结果
+            assertEquals(offset, handler.getOffsetMillis(), 50);
+        }
+    }
+
+    /**
+     * 同步间隔很长，只有构造时的一次后台同步，等它完成后再由测试手动同步
+     */
+    private static RemoteTimeHandler started(FakeClock clock) throws InterruptedException {
+        RemoteTimeHandler handler = new RemoteTimeHandler(clock, HOUR);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (handler.getSyncCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, handler.getSyncCount());
+        return handler;
+    }
+
+    /**
+     * 以本地nanoTime为基础、按给定速率走的参考时钟，offset为相对本地时间的偏移
+     */
+    private static final class FakeClock implements ReferenceClock {
+
+        private final long startMillis = System.currentTimeMillis();
+
+        private final long startNanos = System.nanoTime();
+
+        private final double rate;
+
+        private volatile long offset;
+
+        private volatile long delayMillis;
+
+        private volatile boolean fail;
+
+        private FakeClock(long offset, double rate) {
+            this.offset = offset;
+            this.rate = rate;
+        }
+
+        @Override
+        public long currentTimeMillis() throws Exception {
+            if (fail) {
+                throw new IllegalStateException("参考时钟不可用");
+            }
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            return startMillis + offset + (long) ((System.nanoTime() - startNanos) * rate / 1000000D);
+        }
+    }
+}
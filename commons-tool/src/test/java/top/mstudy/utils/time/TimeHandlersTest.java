@@ -0,0 +1,67 @@
+package top.mstudy.utils.time;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import top.mstudy.utils.SpringContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author machao
+ * @description: Spring容器注入前已经使用过时间处理器时，注入后改用容器中TimeHandlerConfig配置的处理器
+ * @date 2026-10-18
+ */
+class TimeHandlersTest {
+
+    @AfterEach
+    void clear() {
+        new SpringContextHolder().destroy();
+        TimeHandlers.reset();
+    }
+
+    @Test
+    void handlerResolvedBeforeContextIsReplaced() throws Exception {
+        TimeHandlers.reset();
+        ITimeHandler fallback = TimeHandlers.get();
+        assertEquals(LocalTimeHandler.class, fallback.getClass());
+        assertSame(fallback, TimeHandlers.get());
+
+        injectContext();
+        ITimeHandler configured = TimeHandlers.get();
+        assertEquals(FixedTimeHandler.class, configured.getClass());
+        assertEquals(FixedTimeHandler.TIME, configured.currentTimeMillis(false));
+
+        // 容器中解析得到的处理器在再次注入时不会被清除
+        injectContext();
+        assertSame(configured, TimeHandlers.get());
+    }
+
+    @Test
+    void explicitlySetHandlerSurvivesInjection() {
+        FixedTimeHandler handler = new FixedTimeHandler();
+        TimeHandlers.set(handler);
+        injectContext();
+        assertSame(handler, TimeHandlers.get());
+    }
+
+    private static void injectContext() {
+        TimeHandlerConfig config = new TimeHandlerConfig();
+        config.setHandler(FixedTimeHandler.class.getName());
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("timeHandlerConfig", config);
+        context.refresh();
+        new SpringContextHolder().setApplicationContext(context);
+    }
+
+    public static class FixedTimeHandler implements ITimeHandler {
+
+        static final long TIME = 1_000_000L;
+
+        @Override
+        public long currentTimeMillis(boolean isLocal) {
+            return TIME;
+        }
+    }
+}